@@ -48,21 +48,12 @@ export default function BookDetailPage() {
     useEffect(() => {
         const postBooks = async () => {
             try {
-                const book_res = await axios.post(`http://localhost:8080/api/v1/books/check`, {
-                    book_id : bookId,
-                    user_id: user,
-                });
+                // 책 + 권한 + 표지 URL 한 번에 조회 (권한은 로그인 토큰 기준)
+                const res = await axios.get(
+                    `${API_BASE_URL}/api/v1/books/${bookId}/full`
+                );
 
-                const img_res = await axios.post(`http://localhost:8080/api/v1/image/check`, {
-                    book_id : bookId,
-                });
-
-
-                setBook({
-                    ...book_res.data,
-                    ...img_res.data,
-                    power: book_res.data.power
-                });
+                setBook(res.data);
 
 
             } catch (err) {
@@ -84,8 +75,7 @@ export default function BookDetailPage() {
         const res = await axios.delete(
             `${API_BASE_URL}/api/v1/books/delete`,
             {
-                data: { user_id: user,
-                        book_id: bookId },
+                data: { book_id: bookId },
             }
         );
 
@@ -193,7 +183,9 @@ export default function BookDetailPage() {
                             {book.image_url ? (
                                 <Box
                                     component="img"
-                                    src={book.image_url}
+                                    src={`${book.image_url}?w=640`}
+                                    srcSet={`${book.image_url}?w=320 320w, ${book.image_url}?w=640 640w, ${book.image_url}?w=1024 1024w`}
+                                    sizes="(max-width: 900px) 100vw, 32vw"
                                     alt="도서 표지"
                                     sx={{
                                         width: "100%",
@@ -5,6 +5,20 @@ import axios from "axios";
 
 const AuthContext = createContext(null);
 
+// ✔ 로그인 토큰을 모든 axios 요청에 첨부 (작성자/권한은 서버가 토큰으로 판단)
+const setAuthHeader = (token) => {
+    if (token) {
+        axios.defaults.headers.common.Authorization = `Bearer ${token}`;
+    } else {
+        delete axios.defaults.headers.common.Authorization;
+    }
+};
+
+// ✔ 새로고침 직후 하위 페이지의 첫 요청에도 토큰이 붙도록 모듈 로드 시점에 복원
+if (typeof window !== "undefined") {
+    setAuthHeader(localStorage.getItem("loginToken"));
+}
+
 export function AuthProvider({ children }) {
     const [user, setUser] = useState(null); // 로그인 user_id 저장
     const [username, setUsername] = useState(null); // 로그인 user_id 저장
@@ -17,6 +31,18 @@ export function AuthProvider({ children }) {
 
         if (savedUser) setUser(savedUser);
         if (savedName) setUsername(savedName);
+
+        // ✔ 토큰이 만료/무효(401)면 로그아웃 처리
+        const interceptor = axios.interceptors.response.use(
+            (res) => res,
+            (err) => {
+                if (err.response?.status === 401 && err.config?.headers?.Authorization) {
+                    logout();
+                }
+                return Promise.reject(err);
+            }
+        );
+        return () => axios.interceptors.response.eject(interceptor);
     }, []);
 
     // ----------------------------------------------------------------------------------------
@@ -32,17 +58,20 @@ export function AuthProvider({ children }) {
                 password: pw
             });
 
-            // ✔ 정상 응답이면 user_id 저장
+            // ✔ 정상 응답이면 user_id + 토큰 저장
             const userId = res.data.user_id;
-            if (!userId) {
+            const token = res.data.access_token;
+            if (!userId || !token) {
                 throw new Error("user_id가 응답에 없습니다.");
             }
 
             setUser(userId);
             setUsername(id);
+            setAuthHeader(token);
 
             localStorage.setItem("loginUser", userId);
             localStorage.setItem("loginUsername", id);
+            localStorage.setItem("loginToken", token);
             return userId;
 
         } catch (err) {
@@ -65,7 +94,9 @@ export function AuthProvider({ children }) {
     // ----------------------------------------------------------------------------------------
     const logout = () => {
         setUser(null);
+        setAuthHeader(null);
         localStorage.removeItem("loginUser");
+        localStorage.removeItem("loginToken");
     };
 
     return (
@@ -10,6 +10,7 @@ import {
     Container,
     Typography,
     Pagination,
+    TextField,
 } from "@mui/material";
 
 import Header from "./components/Header";
@@ -33,31 +34,91 @@ export default function HomePage() {
         }
     }, []);
 
-    // 책 목록 조회
+    // 커서 기반 목록 조회 상태
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
+    const fetchSize = 20;
+
+    // 책 목록 조회 (after_book_id 이후 fetchSize 건씩)
+    const fetchBooks = async (afterBookId) => {
+        const params = { limit: fetchSize };
+        if (afterBookId != null) {
+            params.after_book_id = afterBookId;
+        }
+
+        const response = await axios.get(
+            `http://localhost:8080/api/v1/books/list`,
+            { params }
+        );
+
+        const list = response.data.data;
+        setNextCursor(response.data.next_cursor ?? null);
+        return Array.isArray(list) ? list : [];
+    };
+
     useEffect(() => {
-        const fetchBooks = async () => {
-            try {
-                const response = await axios.get(
-                    `http://localhost:8080/api/v1/books/list`
-                );
-
-                const list = response.data.data;
-                if (Array.isArray(list)) {
-                    setBooks(list);
-                } else {
-                    setBooks([]);
-                }
-            } catch (err) {
+        fetchBooks(null)
+            .then((list) => setBooks(list))
+            .catch((err) => {
                 console.error("❌ 책 목록 조회 실패:", err);
                 setBooks([]);
-            } finally {
-                setLoading(false);
-            }
-        };
-
-        fetchBooks();
+            })
+            .finally(() => setLoading(false));
     }, []);
 
+    // 검색 상태 (searchQuery 가 있으면 목록 대신 검색 결과를 표시)
+    const [keyword, setKeyword] = useState("");
+    const [searchQuery, setSearchQuery] = useState("");
+    const [nextPage, setNextPage] = useState(null);
+
+    // 검색 결과 조회 (관련도 순, page 단위)
+    const fetchSearch = async (query, searchPage) => {
+        const response = await axios.get(
+            `http://localhost:8080/api/v1/books/search`,
+            { params: { q: query, page: searchPage, limit: fetchSize } }
+        );
+
+        const list = response.data.data;
+        setNextPage(response.data.next_page ?? null);
+        return Array.isArray(list) ? list : [];
+    };
+
+    const handleSearch = async (e) => {
+        e.preventDefault();
+        const query = keyword.trim();
+
+        setLoading(true);
+        setPage(1);
+        setSearchQuery(query);
+        try {
+            setBooks(query ? await fetchSearch(query, 0) : await fetchBooks(null));
+        } catch (err) {
+            console.error("❌ 책 검색 실패:", err);
+            setBooks([]);
+        } finally {
+            setLoading(false);
+        }
+    };
+
+    const hasMore = searchQuery ? nextPage != null : nextCursor != null;
+
+    // 다음 묶음 불러오기
+    const handleLoadMore = async () => {
+        if (!hasMore || loadingMore) return;
+
+        setLoadingMore(true);
+        try {
+            const list = searchQuery
+                ? await fetchSearch(searchQuery, nextPage)
+                : await fetchBooks(nextCursor);
+            setBooks((prev) => [...prev, ...list]);
+        } catch (err) {
+            console.error("❌ 책 목록 추가 조회 실패:", err);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const startIndex = (page - 1) * pageSize;
     const currentBooks = books.slice(startIndex, startIndex + pageSize);
 
@@ -95,6 +156,18 @@ export default function HomePage() {
                             새 도서 등록
                         </Button>
                     )} */}
+
+                    <Box component="form" onSubmit={handleSearch} sx={{ display: "flex", gap: 1 }}>
+                        <TextField
+                            size="small"
+                            placeholder="제목, 설명 검색"
+                            value={keyword}
+                            onChange={(e) => setKeyword(e.target.value)}
+                        />
+                        <Button type="submit" variant="outlined">
+                            검색
+                        </Button>
+                    </Box>
                 </Box>
 
                 {/* 콘텐츠 */}
@@ -110,6 +183,10 @@ export default function HomePage() {
                 >
                     {loading ? (
                         <Typography textAlign="center">불러오는 중...</Typography>
+                    ) : books.length === 0 && searchQuery ? (
+                        <Typography textAlign="center" color="text.secondary">
+                            검색 결과가 없습니다.
+                        </Typography>
                     ) : books.length === 0 ? (
                         <Box textAlign="center">
                             <Typography variant="h6" fontWeight={600}>
@@ -159,6 +236,18 @@ export default function HomePage() {
                                     onChange={handlePageChange}
                                 />
                             </Box>
+
+                            {hasMore && (
+                                <Box display="flex" justifyContent="center" mt={2}>
+                                    <Button
+                                        variant="outlined"
+                                        onClick={handleLoadMore}
+                                        disabled={loadingMore}
+                                    >
+                                        {loadingMore ? "불러오는 중..." : "더 불러오기"}
+                                    </Button>
+                                </Box>
+                            )}
                         </>
                     )}
                 </Card>
@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+# 기동 시간 / 첫 빠른 응답까지 걸린 시간 측정
+#
+#   ./gradlew cdsArchive                      (aot, cds 모드에 필요)
+#   scripts/startup-time.sh jvm|aot|cds [warmup] [횟수]
+#
+#   jvm    : 일반 실행 (AOT/CDS 없음)
+#   aot    : -Dspring.aot.enabled=true
+#   cds    : AOT + -XX:SharedArchiveFile=build/cds/app.jsa
+#   warmup : warmup.enabled=true (readiness 가 워밍업 뒤에 UP)
+#
+# 출력 (ms, 프로세스 시작 기준)
+#   started  : Spring 로그의 "Started ... in N seconds"
+#   ready    : /actuator/health/readiness 가 200 을 돌려준 시점
+#   first    : ready 직후 첫 요청 응답 시간
+#   fast     : 응답이 FAST_MS(기본 5ms) 이하로 처음 떨어진 시점
+#
+# DB 는 인메모리 H2 를 사용 (매 실행 같은 조건)
+# 추가 설정: EXTRA_ARGS="--warmup.rounds=300" scripts/startup-time.sh cds warmup
+# Java 21 필요: PATH 의 java 가 아니면 JAVA_HOME 지정 (cdsArchive 와 같은 JDK 사용)
+
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+MODE=${1:-jvm}
+WARMUP=false
+[ "${2:-}" = "warmup" ] && WARMUP=true
+RUNS=${3:-${RUNS:-3}}
+FAST_MS=${FAST_MS:-5}
+
+APP_PORT=8080
+HEALTH=http://127.0.0.1:8081/actuator/health/readiness
+PROBE="http://127.0.0.1:${APP_PORT}/api/v1/books/list?after_book_id=1000000&limit=20"
+
+JAR=build/cds/app/$(ls build/cds/app | grep -m1 '\.jar$')
+JAVA_OPTS=()
+case "$MODE" in
+  jvm) ;;
+  aot) JAVA_OPTS+=(-Dspring.aot.enabled=true) ;;
+  cds) JAVA_OPTS+=(-Dspring.aot.enabled=true -XX:SharedArchiveFile=build/cds/app.jsa -Xlog:cds=error) ;;
+  *) echo "mode: jvm | aot | cds" >&2; exit 1 ;;
+esac
+
+now_ms() { echo $(( $(date +%s%N) / 1000000 )); }
+
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+echo "mode=$MODE warmup=$WARMUP runs=$RUNS fast<=${FAST_MS}ms"
+printf '%-4s %9s %9s %9s %9s\n' run started ready first fast
+
+for run in $(seq 1 "$RUNS"); do
+  LOG="$WORK/app-$run.log"
+  T0=$(now_ms)
+  "$JAVA" "${JAVA_OPTS[@]}" -jar "$JAR" \
+      --spring.datasource.url="jdbc:h2:mem:startup-$run" \
+      --spring.jpa.show-sql=false \
+      --logging.level.org.hibernate.SQL=warn \
+      --search.index-dir= \
+      --image.store.root="$WORK/images" \
+      --image.variant.cache-dir="$WORK/variants" \
+      --warmup.enabled=$WARMUP ${EXTRA_ARGS:-} > "$LOG" 2>&1 &
+  PID=$!
+
+  until curl -sf -o /dev/null "$HEALTH"; do
+    kill -0 $PID 2>/dev/null || { echo "기동 실패: $LOG" >&2; cat "$LOG" >&2; exit 1; }
+    sleep 0.05
+  done
+  READY=$(( $(now_ms) - T0 ))
+
+  FIRST=$(curl -s -o /dev/null -w '%{time_total}' "$PROBE")
+  FAST=""
+  for _ in $(seq 1 5000); do
+    T=$(curl -s -o /dev/null -w '%{time_total}' "$PROBE")
+    if awk -v t="$T" -v f="$FAST_MS" 'BEGIN { exit !(t * 1000 <= f) }'; then
+      FAST=$(( $(now_ms) - T0 ))
+      break
+    fi
+  done
+
+  STARTED=$(grep -o 'in [0-9.]* seconds' "$LOG" | head -1 | awk '{ printf "%d", $2 * 1000 }')
+  printf '%-4s %9s %9s %9s %9s\n' "$run" "$STARTED" "$READY" \
+      "$(awk -v t="$FIRST" 'BEGIN { printf "%.1f", t * 1000 }')" "${FAST:-n/a}"
+
+  kill $PID; wait $PID 2>/dev/null || true
+done
@@ -0,0 +1,26 @@
+package com.example.miniproject04.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * 벤치마크 공용 유틸
+ */
+final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    static void deleteRecursively(Path root) throws IOException {
+        if (root == null || !Files.exists(root)) return;
+
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.miniproject04.benchmark;
+
+import com.example.miniproject04.Miniproject04Application;
+import com.example.miniproject04.controller.BookController;
+import com.example.miniproject04.service.BookListSnapshot;
+import com.example.miniproject04.service.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/v1/books/list: 컨트롤러 매핑 + JSON 직렬화 비용 (인메모리 H2)
+ * - legacyList: 전체 엔티티 조회 → HashMap 변환 (기존 방식)
+ * - cursorPage: 첫 페이지 프로젝션 조회 (after_book_id/limit) + 직렬화 (캐시 미스 경로)
+ * - snapshotPage: BookListSnapshot 적중 (미리 만든 바이트 조회만)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BookListBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int books;
+
+    private ConfigurableApplicationContext context;
+    private BookController bookController;
+    private BookService bookService;
+    private BookListSnapshot bookListSnapshot;
+    private ObjectMapper objectMapper;
+    private Path imageRoot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        imageRoot = Files.createTempDirectory("bench-images");
+
+        context = new SpringApplicationBuilder(Miniproject04Application.class)
+                .web(WebApplicationType.NONE)
+                // application.yaml 이 기본 속성보다 우선하므로 실행 인자로 전달 (파일 DB 에 시드하지 않도록)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=warn",
+                        "--logging.level.org.hibernate.SQL=warn",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=warn",
+                        "--image.store.root=" + imageRoot,
+                        "--image.variant.cache-dir=" + imageRoot.resolve("variants"),
+                        "--search.index-dir=");
+
+        bookController = context.getBean(BookController.class);
+        bookService = context.getBean(BookService.class);
+        bookListSnapshot = context.getBean(BookListSnapshot.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        seed(context.getBean(JdbcTemplate.class));
+
+        // JDBC 로 직접 넣었으므로 스냅샷을 다시 만들고 준비될 때까지 대기
+        bookListSnapshot.invalidateAfterCommit();
+        while (bookListSnapshot.find(null, 20) == null) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        Long userId = jdbc.queryForObject("select min(user_id) from users", Long.class);
+        String description = "벤치마크용 설명 ".repeat(20);
+
+        List<Object[]> rows = new ArrayList<>(1000);
+        for (int i = 0; i < books; i++) {
+            rows.add(new Object[]{"book " + i, description, userId});
+            if (rows.size() == 1000) {
+                insert(jdbc, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) insert(jdbc, rows);
+    }
+
+    private static void insert(JdbcTemplate jdbc, List<Object[]> rows) {
+        jdbc.batchUpdate("insert into book (book_id, title, description, user_id, version) values (next value for book_seq, ?, ?, ?, 0)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        Benchmarks.deleteRecursively(imageRoot);
+    }
+
+    @Benchmark
+    public byte[] legacyList() throws Exception {
+        ResponseEntity<?> response = bookController.listBooks(null, null, null, null);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    @Benchmark
+    public byte[] cursorPage() throws Exception {
+        return objectMapper.writeValueAsBytes(bookService.findBookPage(null, 20));
+    }
+
+    @Benchmark
+    public byte[] snapshotPage() {
+        return bookListSnapshot.find(null, 20).json();
+    }
+}
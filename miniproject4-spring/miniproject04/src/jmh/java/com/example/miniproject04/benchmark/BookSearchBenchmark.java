@@ -0,0 +1,121 @@
+package com.example.miniproject04.benchmark;
+
+import com.example.miniproject04.dto.BookDto;
+import com.example.miniproject04.search.BookSearchIndex;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 책 검색: 색인 크기별 검색 지연 (한 페이지 20 + 1 건)
+ * 단어 빈도는 실제 텍스트처럼 Zipf 분포 (어휘 20,000개)
+ * - common: 상위 1~2위 단어 (거의 불용어 수준, 책 절반 이상에 등장)
+ * - mid:    상위 100위권 단어
+ * - rare:   상위 2,000위권 단어
+ * ./gradlew jmh -PjmhIncludes=BookSearch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BookSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final char[] HANGUL_FIRST = "가나다라마바사아자차카타파하".toCharArray();
+
+    @Param({"100000", "1000000"})
+    public int books;
+
+    @Param({"common", "common2", "mid", "mid2", "rare", "mixed"})
+    public String query;
+
+    private BookSearchIndex index;
+    private String text;
+
+    private String[] words;
+    private double[] cumulative;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        buildVocabulary(random);
+
+        index = new BookSearchIndex(new ByteBuffersDirectory(), 1_000, 600_000);
+        for (long id = 1; id <= books; id++) {
+            index.index(id, sentence(random, 4), sentence(random, 40));
+        }
+        index.refresh();
+
+        text = switch (query) {
+            case "common" -> words[0];
+            case "common2" -> words[0] + " " + words[1];
+            case "mid" -> words[100];
+            case "mid2" -> words[100] + " " + words[150];
+            case "rare" -> words[2000];
+            default -> words[1] + " " + words[120] + "를";   // 흔한 단어 + 중간 단어(조사 포함)
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Benchmark
+    public List<BookDto.Summary> firstPage() throws Exception {
+        return index.search(text, 0, 21);
+    }
+
+    @Benchmark
+    public List<BookDto.Summary> fifthPage() throws Exception {
+        return index.search(text, 80, 21);
+    }
+
+    // 짝수 순위는 한글 2~3글자, 홀수 순위는 영문 단어
+    private void buildVocabulary(Random random) {
+        words = new String[VOCABULARY];
+        cumulative = new double[VOCABULARY];
+        double total = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            words[rank] = (rank % 2 == 0) ? hangulWord(random) : latinWord(random);
+            total += 1.0 / (rank + 1);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    private String sentence(Random random, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) sb.append(' ');
+            int idx = java.util.Arrays.binarySearch(cumulative, random.nextDouble());
+            sb.append(words[idx >= 0 ? idx : Math.min(-idx - 1, VOCABULARY - 1)]);
+        }
+        return sb.toString();
+    }
+
+    private static String hangulWord(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int syllables = 2 + random.nextInt(2);
+        for (int i = 0; i < syllables; i++) {
+            // 가(0xAC00) ~ 힣 범위에서 초성 14개 x 중성/종성 일부만 사용
+            char base = HANGUL_FIRST[random.nextInt(HANGUL_FIRST.length)];
+            sb.append((char) (base + random.nextInt(21) * 28));
+        }
+        return sb.toString();
+    }
+
+    private static String latinWord(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int letters = 4 + random.nextInt(5);
+        for (int i = 0; i < letters; i++) {
+            sb.append((char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+}
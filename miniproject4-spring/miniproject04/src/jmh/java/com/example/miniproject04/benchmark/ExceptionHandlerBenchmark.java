@@ -0,0 +1,81 @@
+package com.example.miniproject04.benchmark;
+
+import com.example.miniproject04.dto.ResponseDto;
+import com.example.miniproject04.exception.ApiException;
+import com.example.miniproject04.exception.ErrorCode;
+import com.example.miniproject04.exception.ErrorResponses;
+import com.example.miniproject04.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 에러 경로: 예외 생성 + 응답 본문까지
+ * - messageSwitch: 기존 방식 (스택 트레이스를 채우는 IllegalArgumentException + 메시지 switch + 요청마다 직렬화)
+ * - typed: ApiException (스택 트레이스 없음) + ErrorCode 매핑 + 미리 직렬화된 본문
+ * depth = 예외가 던져지는 호출 깊이 (실제 요청은 필터/프록시 때문에 100 프레임 이상)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExceptionHandlerBenchmark {
+
+    @Param({"BOOK_NOT_FOUND", "FORBIDDEN"})
+    public ErrorCode code;
+
+    @Param({"10", "150"})
+    public int depth;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private GlobalExceptionHandler handler;
+
+    @Setup
+    public void setUp() throws Exception {
+        handler = new GlobalExceptionHandler(new ErrorResponses(objectMapper));
+    }
+
+    @Benchmark
+    public byte[] messageSwitch() throws Exception {
+        try {
+            throwAt(depth, () -> new IllegalArgumentException(code.message()));
+            return null;
+        } catch (IllegalArgumentException e) {
+            // 기존 handleIllegalArgument: 메시지로 상태 결정 후 ResponseDto 를 매번 직렬화
+            ErrorCode mapped = legacyLookup(e.getMessage());
+            ResponseEntity<?> response = ResponseEntity.status(mapped.status())
+                    .body(ResponseDto.error(mapped.message()));
+            return objectMapper.writeValueAsBytes(response.getBody());
+        }
+    }
+
+    @Benchmark
+    public byte[] typed() {
+        try {
+            throwAt(depth, () -> new ApiException(code));
+            return null;
+        } catch (ApiException e) {
+            return handler.handleApi(e).getBody();
+        }
+    }
+
+    private static ErrorCode legacyLookup(String message) {
+        switch (message) {
+            case "아이디 또는 비밀번호가 잘못되었습니다.": return ErrorCode.LOGIN_FAILED;
+            case "로그인이 필요합니다.": return ErrorCode.LOGIN_REQUIRED;
+            case "삭제된 목록입니다.": return ErrorCode.BOOK_NOT_FOUND;
+            case "권한 없음": return ErrorCode.FORBIDDEN;
+            default: return ErrorCode.INVALID_BOOK;
+        }
+    }
+
+    private static void throwAt(int depth, Supplier<RuntimeException> error) {
+        if (depth <= 0) {
+            throw error.get();
+        }
+        throwAt(depth - 1, error);
+    }
+}
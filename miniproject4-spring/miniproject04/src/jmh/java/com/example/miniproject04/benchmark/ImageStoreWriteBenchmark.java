@@ -0,0 +1,59 @@
+package com.example.miniproject04.benchmark;
+
+import com.example.miniproject04.storage.ImageStore;
+import com.example.miniproject04.storage.LocalImageStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이미지 저장 처리량 (임시 디렉터리의 LocalImageStore)
+ * - newContent: 매번 다른 내용 → 해시 + 임시 파일 + rename
+ * - duplicateContent: 같은 내용 → 해시 + 임시 파일만 (중복 제거 경로)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ImageStoreWriteBenchmark {
+
+    @Param({"65536", "1048576"})
+    public int size;
+
+    private Path root;
+    private ImageStore store;
+    private byte[] bytes;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("bench-store");
+        store = new LocalImageStore(root.toString());
+
+        bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Benchmarks.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public ImageStore.Stored newContent() throws Exception {
+        // 앞 8바이트를 바꿔 매번 새 digest
+        long n = ++counter;
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (n >>> (i * 8));
+        }
+        return store.putContent(new ByteArrayInputStream(bytes), ".png");
+    }
+
+    @Benchmark
+    public ImageStore.Stored duplicateContent() throws Exception {
+        return store.putContent(new ByteArrayInputStream(bytes), ".png");
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.miniproject04.benchmark;
+
+import com.example.miniproject04.Entity.User;
+import com.example.miniproject04.Miniproject04Application;
+import com.example.miniproject04.exception.ApiException;
+import com.example.miniproject04.exception.ErrorCode;
+import com.example.miniproject04.repository.UserRepository;
+import com.example.miniproject04.service.PasswordHasher;
+import com.example.miniproject04.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 처리량 (인메모리 H2, 사용자 users 명)
+ * - lookup: login_id 조회만 (유니크 인덱스)
+ * - login:  조회 + 비밀번호 해시 검증 (passwordHashExecutor 워커 수로 제한)
+ * - unknownLogin: 없는 아이디 (같은 해시 비용)
+ * 요청 스레드 8개 → 해시 워커 수(auth.hash.workers) 이상으로는 처리량이 늘지 않아야 함
+ * ./gradlew jmh -PjmhIncludes=Login
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({"1000000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserRepository userRepository;
+    private Path imageRoot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        imageRoot = Files.createTempDirectory("bench-images");
+
+        context = new SpringApplicationBuilder(Miniproject04Application.class)
+                .web(WebApplicationType.NONE)
+                // application.yaml 이 기본 속성보다 우선하므로 실행 인자로 전달 (파일 DB 에 시드하지 않도록)
+                .run("--spring.datasource.url=jdbc:h2:mem:login-bench;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=warn",
+                        "--logging.level.org.hibernate.SQL=warn",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=warn",
+                        "--image.store.root=" + imageRoot,
+                        "--image.variant.cache-dir=" + imageRoot.resolve("variants"),
+                        "--search.index-dir=");
+
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+
+        // 해시는 하나만 계산해서 모든 사용자에 사용 (검증 비용은 사용자마다 같음)
+        String hash = context.getBean(PasswordHasher.class).hash(PASSWORD);
+        seed(context.getBean(JdbcTemplate.class), hash);
+    }
+
+    private void seed(JdbcTemplate jdbc, String hash) {
+        List<Object[]> rows = new ArrayList<>(1000);
+        for (int i = 0; i < users; i++) {
+            rows.add(new Object[]{"user" + i, hash});
+            if (rows.size() == 1000) {
+                jdbc.batchUpdate("insert into users (login_id, password) values (?, ?)", rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) jdbc.batchUpdate("insert into users (login_id, password) values (?, ?)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        Benchmarks.deleteRecursively(imageRoot);
+    }
+
+    private String randomLoginId() {
+        return "user" + ThreadLocalRandom.current().nextInt(users);
+    }
+
+    @Benchmark
+    public Optional<User> lookup() {
+        return userRepository.findByLoginId(randomLoginId());
+    }
+
+    @Benchmark
+    public User login() {
+        return userService.login(randomLoginId(), PASSWORD);
+    }
+
+    @Benchmark
+    public boolean unknownLogin() {
+        try {
+            userService.login("nobody" + ThreadLocalRandom.current().nextInt(users), PASSWORD);
+            return true;
+        } catch (ApiException e) {
+            if (e.getErrorCode() != ErrorCode.LOGIN_FAILED) throw e;
+            return false;
+        }
+    }
+}
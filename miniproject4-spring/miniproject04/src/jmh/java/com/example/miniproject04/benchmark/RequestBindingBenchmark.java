@@ -0,0 +1,103 @@
+package com.example.miniproject04.benchmark;
+
+import com.example.miniproject04.dto.BookDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 바인딩: Map<String, Object> + Long.valueOf(toString()) vs 타입 있는 DTO
+ * 응답 생성: Map.of / HashMap 목록 vs record (+ JsonGenerator 목록 직렬화)
+ * 할당량 비교는 -PjmhProfilers=gc 로 실행 (gc.alloc.rate.norm = op 당 바이트)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequestBindingBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    // 목록 한 페이지 크기 (BookController 기본값)
+    private static final int LIST_SIZE = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ObjectReader mapReader;
+    private ObjectReader dtoReader;
+    private ObjectWriter dtoWriter;
+    private ObjectWriter listingWriter;
+    private byte[] body;
+    private List<BookDto.Summary> summaries;
+
+    @Setup
+    public void setUp() {
+        mapReader = objectMapper.readerFor(MAP_TYPE);
+        dtoReader = objectMapper.readerFor(BookDto.UpdateRequest.class);
+        dtoWriter = objectMapper.writerFor(BookDto.CheckResponse.class);
+        listingWriter = objectMapper.writerFor(BookDto.Listing.class);
+        body = "{\"book_id\":\"12345\",\"version\":7,\"title\":\"제목\",\"description\":\"내용입니다\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        summaries = new ArrayList<>();
+        for (long i = 1; i <= LIST_SIZE; i++) {
+            summaries.add(new BookDto.Summary(i, "제목 " + i, "내용입니다 ".repeat(10)));
+        }
+    }
+
+    @Benchmark
+    public long mapRequest() throws Exception {
+        Map<String, Object> req = mapReader.readValue(body);
+        Long bookId = Long.valueOf(req.get("book_id").toString());
+        Long version = Long.valueOf(req.get("version").toString());
+        String title = (String) req.get("title");
+        String description = (String) req.get("description");
+        return bookId + version + title.length() + description.length();
+    }
+
+    @Benchmark
+    public long dtoRequest() throws Exception {
+        BookDto.UpdateRequest req = dtoReader.readValue(body);
+        return req.bookId() + req.version() + req.title().length() + req.description().length();
+    }
+
+    @Benchmark
+    public byte[] mapResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(Map.of(
+                "power", "작성자",
+                "title", "제목",
+                "description", "내용입니다"));
+    }
+
+    @Benchmark
+    public byte[] dtoResponse() throws Exception {
+        return dtoWriter.writeValueAsBytes(new BookDto.CheckResponse("작성자", "제목", "내용입니다", 3L));
+    }
+
+    // 기존 목록 응답: 항목마다 HashMap 을 만들고 Map 직렬화기로 출력
+    @Benchmark
+    public byte[] mapList() throws Exception {
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (BookDto.Summary s : summaries) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("book_id", s.bookId());
+            item.put("title", s.title());
+            item.put("description", s.description());
+            data.add(item);
+        }
+        return objectMapper.writeValueAsBytes(Map.of("data", data));
+    }
+
+    @Benchmark
+    public byte[] streamedList() throws Exception {
+        return listingWriter.writeValueAsBytes(new BookDto.Listing(summaries));
+    }
+}
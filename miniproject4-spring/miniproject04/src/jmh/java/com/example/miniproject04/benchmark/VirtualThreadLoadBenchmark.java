@@ -0,0 +1,175 @@
+package com.example.miniproject04.benchmark;
+
+import com.example.miniproject04.Miniproject04Application;
+import com.example.miniproject04.trace.PinnedThreadLog;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 플랫폼 스레드 vs 가상 스레드 요청 처리량 (실제 HTTP, 인메모리 H2)
+ * - 동시 클라이언트 128 > Tomcat 플랫폼 스레드 32 → 플랫폼 모드는 스레드 수가 상한
+ * - dbLatencyMs: SQL 마다 원격 DB 왕복 시간을 흉내 낸 대기 (0 이면 CPU 만 사용)
+ * - bookFull / bookPage: DB 조회, imageCheck: 캐시 적중 (블로킹 없음)
+ * 가상 스레드 모드에서 기록된 피닝 건수는 Trial 종료 시 출력
+ * ./gradlew jmh -PjmhIncludes=VirtualThreadLoad
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(128)
+public class VirtualThreadLoadBenchmark {
+
+    private static final int BOOKS = 10_000;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"0", "5"})
+    public int dbLatencyMs;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String base;
+    private long[] bookIds;
+    private Path imageRoot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        imageRoot = Files.createTempDirectory("bench-images");
+
+        context = new SpringApplicationBuilder(Miniproject04Application.class, DbLatency.class)
+                // application.yaml 보다 우선하도록 모두 실행 인자로 전달 (기본 속성은 yaml 에 밀림)
+                .run("--spring.datasource.url=jdbc:h2:mem:vthread-bench;DB_CLOSE_DELAY=-1",
+                        "--image.store.root=" + imageRoot,
+                        "--image.variant.cache-dir=" + imageRoot.resolve("variants"),
+                        "--search.index-dir=",
+                        "--logging.level.root=warn",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.org.hibernate.SQL=warn",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=warn",
+                        "--server.port=0",
+                        "--management.server.port=-1",
+                        "--server.tomcat.threads.max=32",
+                        "--spring.datasource.hikari.maximum-pool-size=64",
+                        "--spring.threads.virtual.enabled=" + threads.equals("virtual"),
+                        "--bench.db-latency-ms=" + dbLatencyMs);
+
+        base = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1";
+        client = HttpClient.newHttpClient();
+
+        bookIds = seed(context.getBean(JdbcTemplate.class));
+    }
+
+    private long[] seed(JdbcTemplate jdbc) {
+        Long userId = jdbc.queryForObject("select min(user_id) from users", Long.class);
+
+        List<Object[]> rows = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            rows.add(new Object[]{"book " + i, "벤치마크용 설명 ".repeat(10), userId});
+        }
+        jdbc.batchUpdate("insert into book (book_id, title, description, user_id, version) values (next value for book_seq, ?, ?, ?, 0)", rows);
+        jdbc.update("insert into generated_image (book_id, image_url, status) select book_id, '/images/bench.png', 'READY' from book"
+                + " where book_id not in (select book_id from generated_image)");
+
+        return jdbc.queryForList("select book_id from book", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (!context.getBeansOfType(PinnedThreadLog.class).isEmpty()) {
+            System.out.println("pinned events: " + context.getBean(PinnedThreadLog.class).recorded());
+        }
+        context.close();
+        Benchmarks.deleteRecursively(imageRoot);
+    }
+
+    private long randomBookId() {
+        return bookIds[ThreadLocalRandom.current().nextInt(bookIds.length)];
+    }
+
+    private int send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int bookFull() throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(base + "/books/" + randomBookId() + "/full")).build());
+    }
+
+    @Benchmark
+    public int bookPage() throws Exception {
+        return send(HttpRequest.newBuilder(
+                URI.create(base + "/books/list?after_book_id=" + randomBookId() + "&limit=20")).build());
+    }
+
+    @Benchmark
+    public int imageCheck() throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(base + "/image/check"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"book_id\":" + randomBookId() + "}"))
+                .build());
+    }
+
+    /**
+     * SQL 실행 전마다 bench.db-latency-ms 만큼 대기 (원격 DB 왕복 흉내)
+     */
+    static class DbLatency implements BeanPostProcessor, EnvironmentAware {
+
+        private long latencyMs;
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            latencyMs = environment.getProperty("bench.db-latency-ms", Long.class, 0L);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || latencyMs == 0) {
+                return bean;
+            }
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .listener(new QueryExecutionListener() {
+                        @Override
+                        public void beforeQuery(ExecutionInfo execInfo,
+                                                List<QueryInfo> queryInfoList) {
+                            try {
+                                Thread.sleep(latencyMs);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+
+                        @Override
+                        public void afterQuery(ExecutionInfo execInfo,
+                                               List<QueryInfo> queryInfoList) {
+                        }
+                    })
+                    .build();
+        }
+    }
+}
@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "generated_image")
+// image_url: 파일 정리 시 참조 확인
+@Table(name = "generated_image", indexes = @Index(name = "idx_generated_image_url", columnList = "image_url"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -15,15 +16,29 @@ public class GeneratedImage {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long imgId;
 
-    @Column(name = "image_url", nullable = false, length = 1000)
+    // PENDING 상태에서는 아직 저장된 이미지가 없을 수 있음
+    @Column(name = "image_url", length = 1000)
     private String imageUrl;
 
+    // 이미지 파일의 SHA-256 (image_blob.digest), 내용 주소 저장 이전 행은 null
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ImageStatus status = ImageStatus.PENDING;
+
+    // 다운로드 작업 세대 (작업을 등록할 때마다 +1)
+    // 완료/실패는 워커가 받은 세대와 같을 때만 반영 → 늦게 끝난 이전 작업이 새 이미지를 덮어쓰지 않음
+    @Column(name = "generation", nullable = false)
+    private long generation;
+
     /* 양방향일때 사용
     @OneToOne(mappedBy = "generatedImage", fetch = FetchType.LAZY)
     private Book book;*/
 
-    // 단방향 연결
-    @OneToOne
+    // 단방향 연결 (LAZY: 필요한 경우에만 EntityGraph 로 함께 조회)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "book_id")
     private Book book;
 
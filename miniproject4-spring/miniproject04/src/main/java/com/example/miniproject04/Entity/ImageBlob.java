@@ -0,0 +1,31 @@
+package com.example.miniproject04.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 내용 주소 기반 이미지 파일 (SHA-256 digest 당 파일 1개)
+ * refCount: 이 파일을 참조하는 GeneratedImage 수
+ */
+@Entity
+@Table(name = "image_blob")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ImageBlob {
+
+    @Id
+    @Column(name = "digest", length = 64)
+    private String digest;
+
+    // ImageStore key (digest + 확장자)
+    @Column(name = "store_key", nullable = false, length = 100)
+    private String storeKey;
+
+    @Column(name = "size", nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+}
@@ -0,0 +1,7 @@
+package com.example.miniproject04.Entity;
+
+public enum ImageStatus {
+    PENDING,   // 다운로드 대기/진행 중
+    READY,     // 저장 완료
+    FAILED     // 다운로드 실패
+}
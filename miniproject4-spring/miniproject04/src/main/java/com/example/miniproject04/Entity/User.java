@@ -12,7 +12,8 @@ import lombok.Setter;
 @AllArgsConstructor
 @Getter
 @Setter
-@Table(name="users")
+// login_id: 로그인 조회용 유니크 인덱스 (가입 중복 판단도 이 제약으로)
+@Table(name="users", uniqueConstraints = @UniqueConstraint(name = "uk_users_login_id", columnNames = "login_id"))
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -21,6 +22,7 @@ public class User {
     @Column(name = "login_id", nullable = false)
     private String loginId;
 
+    // PasswordHasher 형식의 해시 (평문 저장 X)
     @Column(name = "password", nullable = false)
     private String password;
 
@@ -0,0 +1,60 @@
+package com.example.miniproject04.auth;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authorization: Bearer {토큰} 검증 → CurrentUser 설정
+ * - 헤더가 없으면 비로그인 요청으로 그대로 통과 (로그인이 필요한 API 는 CurrentUser.require 에서 401)
+ * - 헤더가 있는데 서명이 틀리거나 만료되었으면 바로 401
+ */
+public class AccessTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final AccessTokens accessTokens;
+
+    // 401 응답 본문 (ResponseDto.error 와 같은 형식, 미리 직렬화)
+    private final byte[] invalidTokenBody;
+
+    public AccessTokenFilter(AccessTokens accessTokens, byte[] invalidTokenBody) {
+        this.accessTokens = accessTokens;
+        this.invalidTokenBody = invalidTokenBody;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Long userId = header.startsWith(BEARER) ? accessTokens.verify(header.substring(BEARER.length()).trim()) : null;
+        if (userId == null) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            // 컨트롤러(@CrossOrigin)까지 가지 않으므로 브라우저가 메시지를 읽을 수 있게 직접 추가
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(invalidTokenBody.length);
+            response.getOutputStream().write(invalidTokenBody);
+            return;
+        }
+
+        CurrentUser.set(userId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CurrentUser.clear();
+        }
+    }
+}
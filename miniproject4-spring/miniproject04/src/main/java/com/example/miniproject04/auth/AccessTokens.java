@@ -0,0 +1,98 @@
+package com.example.miniproject04.auth;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * 로그인 토큰 발급/검증 (HMAC-SHA256 서명, 서버 저장 없음)
+ * - 형식: {user_id}.{만료 epoch 초}.{서명 Base64url}
+ * - 검증은 메모리에서 서명/만료만 확인 (DB 조회 없음)
+ */
+public class AccessTokens {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+
+    // Mac 은 스레드 안전하지 않으므로 호출마다 복제
+    // (가상 스레드는 요청마다 새 스레드라 ThreadLocal 캐시가 재사용되지 않음)
+    private final Mac prototype;
+
+    public AccessTokens(byte[] secret, Duration ttl, Clock clock) {
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.prototype = newMac();
+    }
+
+    public record Issued(String token, long expiresAt) {
+    }
+
+    public Issued issue(long userId) {
+        long expiresAt = clock.instant().plus(ttl).getEpochSecond();
+        String payload = userId + "." + expiresAt;
+        return new Issued(payload + "." + ENCODER.encodeToString(sign(payload)), expiresAt);
+    }
+
+    /**
+     * 서명이 맞고 만료 전이면 user_id, 아니면 null
+     */
+    public Long verify(String token) {
+
+        int first = token.indexOf('.');
+        int second = (first < 0) ? -1 : token.indexOf('.', first + 1);
+        if (first <= 0 || second < 0) return null;
+
+        String payload = token.substring(0, second);
+        byte[] signature;
+        try {
+            signature = DECODER.decode(token.substring(second + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        // 상수 시간 비교
+        if (!MessageDigest.isEqual(signature, sign(payload))) return null;
+
+        try {
+            long userId = Long.parseLong(token, 0, first, 10);
+            long expiresAt = Long.parseLong(token, first + 1, second, 10);
+            return (expiresAt > clock.instant().getEpochSecond()) ? userId : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String payload) {
+        return copyMac().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // 키 초기화가 끝난 Mac 복제 (getInstance + init 보다 저렴), 복제를 지원하지 않는 제공자면 새로 생성
+    private Mac copyMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return newMac();
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.miniproject04.auth;
+
+import com.example.miniproject04.exception.ApiException;
+import com.example.miniproject04.exception.ErrorCode;
+
+/**
+ * 요청을 보낸 사용자 (AccessTokenFilter 가 토큰 검증 후 요청 스레드의 ThreadLocal 에 보관)
+ * - 토큰이 없는 요청이면 id() 가 null
+ * - 요청 본문의 user_id 대신 이 값으로 작성자/권한 판단
+ */
+public final class CurrentUser {
+
+    private static final ThreadLocal<Long> ID = new ThreadLocal<>();
+
+    private CurrentUser() {
+    }
+
+    public static Long id() {
+        return ID.get();
+    }
+
+    /**
+     * 로그인하지 않은 요청이면 ApiException(LOGIN_REQUIRED, 401)
+     */
+    public static Long require() {
+        Long id = ID.get();
+        if (id == null) {
+            throw new ApiException(ErrorCode.LOGIN_REQUIRED);
+        }
+        return id;
+    }
+
+    static void set(Long id) {
+        ID.set(id);
+    }
+
+    static void clear() {
+        ID.remove();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.miniproject04.config;
+
+import com.example.miniproject04.auth.AccessTokenFilter;
+import com.example.miniproject04.auth.AccessTokens;
+import com.example.miniproject04.exception.ErrorCode;
+import com.example.miniproject04.exception.ErrorResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+@Configuration
+public class AuthConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthConfig.class);
+
+    /**
+     * 로그인 토큰 서명 키 (auth.token.secret, Base64 32바이트 이상)
+     * 비어 있으면 기동마다 임의 키 사용 → 재시작하면 기존 토큰 무효, 여러 대로 띄우면 반드시 지정
+     */
+    @Bean
+    public AccessTokens accessTokens(
+            @Value("${auth.token.secret:}") String secret,
+            @Value("${auth.token.ttl:12h}") Duration ttl) {
+
+        byte[] key;
+        if (secret.isBlank()) {
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            log.warn("auth.token.secret 이 없어 임시 서명 키 사용 (재시작 시 기존 토큰 무효)");
+        } else {
+            key = Base64.getDecoder().decode(secret);
+            if (key.length < 32) {
+                throw new IllegalStateException("auth.token.secret 은 32바이트 이상이어야 합니다.");
+            }
+        }
+        return new AccessTokens(key, ttl, Clock.systemUTC());
+    }
+
+    @Bean
+    public FilterRegistrationBean<AccessTokenFilter> accessTokenFilter(
+            AccessTokens accessTokens, ErrorResponses errorResponses) {
+
+        FilterRegistrationBean<AccessTokenFilter> registration = new FilterRegistrationBean<>(
+                new AccessTokenFilter(accessTokens, errorResponses.body(ErrorCode.TOKEN_INVALID)));
+        registration.addUrlPatterns("/api/*");
+        registration.setName("accessTokenFilter");
+        // 요청 추적 필터 안쪽, ETag 필터보다 바깥
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
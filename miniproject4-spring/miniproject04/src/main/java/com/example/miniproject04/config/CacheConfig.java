@@ -0,0 +1,39 @@
+package com.example.miniproject04.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // 캐시 이름
+    public static final String BOOK_DETAIL = "bookDetail";
+    public static final String BOOK_IMAGE = "bookImage";
+
+    /**
+     * Caffeine 캐시 (크기/TTL 제한, 통계 기록)
+     * 트랜잭션 안에서의 evict/put 은 커밋 이후에 반영
+     * (커밋 전에 지우면 다른 요청이 옛 값을 다시 채울 수 있음)
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${spring.cache.caffeine.spec}") String spec,
+            @Value("${spring.cache.cache-names}") List<String> cacheNames) {
+
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.setCaffeine(Caffeine.from(spec));
+        caffeine.setCacheNames(cacheNames);
+        caffeine.setAllowNullValues(false);
+
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.miniproject04.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExportConfig {
+
+    @Value("${export.workers:2}")
+    private int workers;
+
+    @Value("${export.queue-capacity:10}")
+    private int queueCapacity;
+
+    /**
+     * 내보내기 전송 전용 풀 (BookExportService.exportTask 만 사용, MVC 전역 비동기 풀과 별개)
+     * - 동시 내보내기 수 제한 (각 작업이 구간마다 DB 커넥션 1개 사용)
+     * - 큐가 가득 차면 TaskRejectedException → 503
+     */
+    @Bean(name = "bookExportExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor bookExportExecutor() {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("book-export-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
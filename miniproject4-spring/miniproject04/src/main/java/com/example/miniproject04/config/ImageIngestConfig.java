@@ -0,0 +1,43 @@
+package com.example.miniproject04.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ImageIngestConfig {
+
+    /**
+     * 이미지 다운로드 전용 워커 풀
+     * - 큐가 가득 차면 TaskRejectedException (요청 스레드에서 바로 실패 처리)
+     * - 가상 스레드 모드면 원격 다운로드 대기 중 캐리어 스레드를 놓아주므로 동시 다운로드 수를 virtual-workers 로 늘림
+     *   (풀 크기 = 원격 서버로 동시에 나가는 요청 수 상한은 그대로 유지)
+     */
+    @Bean(name = "imageIngestExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor imageIngestExecutor(
+            Environment environment,
+            @Value("${image.ingest.workers:4}") int workers,
+            @Value("${image.ingest.virtual-workers:32}") int virtualWorkers,
+            @Value("${image.ingest.queue-capacity:100}") int queueCapacity) {
+
+        boolean virtual = Threading.VIRTUAL.isActive(environment);
+        int poolSize = virtual ? virtualWorkers : workers;
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setVirtualThreads(virtual);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-ingest-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.miniproject04.config;
+
+import com.example.miniproject04.dto.BookDto;
+import com.example.miniproject04.dto.ImageDto;
+import com.example.miniproject04.dto.ResponseDto;
+import com.example.miniproject04.dto.UserDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class JacksonConfig {
+
+    private static final List<Class<?>> REQUEST_TYPES = List.of(
+            BookDto.CreateRequest.class, BookDto.BookRequest.class, BookDto.UpdateRequest.class,
+            ImageDto.CreateRequest.class, ImageDto.CheckRequest.class, ImageDto.UpdateRequest.class,
+            UserDto.LoginRequest.class
+    );
+
+    private static final List<Class<?>> RESPONSE_TYPES = List.of(
+            BookDto.CreateResponse.class, BookDto.CheckResponse.class, BookDto.FullResponse.class,
+            BookDto.Page.class, BookDto.Listing.class,
+            ImageDto.JobAccepted.class, ImageDto.JobResponse.class, ImageDto.CheckResponse.class,
+            UserDto.LoginResponse.class, ResponseDto.class
+    );
+
+    /**
+     * 기동 시 DTO (역)직렬화기를 미리 만들어 ObjectMapper 캐시에 적재
+     * → 첫 요청이 타입 분석 비용을 내지 않고, 이후에는 캐시된 직렬화기만 사용
+     */
+    @Bean
+    public ApplicationRunner dtoJsonWarmUp(ObjectMapper objectMapper) {
+        return args -> {
+            REQUEST_TYPES.forEach(objectMapper::readerFor);
+            RESPONSE_TYPES.forEach(objectMapper::writerFor);
+        };
+    }
+}
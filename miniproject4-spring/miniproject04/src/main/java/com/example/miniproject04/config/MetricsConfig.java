@@ -0,0 +1,86 @@
+package com.example.miniproject04.config;
+
+import com.example.miniproject04.storage.ImageStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsConfig.class);
+
+    /**
+     * 이미지 저장소 파일 수/총 크기 게이지
+     * 저장소 전체를 훑어야 하므로 스크랩마다 다시 세지 않고 refresh 간격 동안 결과 재사용
+     */
+    @Bean
+    public MeterBinder imageStoreMetrics(
+            ImageStore imageStore,
+            @Value("${image.metrics.usage-refresh:60s}") Duration refresh) {
+
+        UsageSnapshot snapshot = new UsageSnapshot(imageStore, refresh);
+
+        return registry -> {
+            Gauge.builder("image.store.files", snapshot, s -> s.get().files())
+                    .description("이미지 저장소 파일 수")
+                    .register(registry);
+            Gauge.builder("image.store.size", snapshot, s -> s.get().bytes())
+                    .description("이미지 저장소 총 크기")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    private static final class UsageSnapshot {
+
+        private record Timed(ImageStore.Usage usage, long takenAt) {
+        }
+
+        private final ImageStore imageStore;
+        private final long refreshNanos;
+        private final AtomicReference<Timed> last = new AtomicReference<>();
+        private final ReentrantLock lock = new ReentrantLock();
+
+        UsageSnapshot(ImageStore imageStore, Duration refresh) {
+            this.imageStore = imageStore;
+            this.refreshNanos = refresh.toNanos();
+        }
+
+        // 게이지 두 개가 같은 스캔 결과를 공유
+        // 디렉터리 스캔 중 대기하는 스레드가 가상 스레드여도 캐리어를 점유하지 않도록 synchronized 대신 ReentrantLock
+        ImageStore.Usage get() {
+            lock.lock();
+            try {
+                return scanIfStale();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private ImageStore.Usage scanIfStale() {
+            Timed cached = last.get();
+            long now = System.nanoTime();
+            if (cached != null && now - cached.takenAt() < refreshNanos) {
+                return cached.usage();
+            }
+            try {
+                ImageStore.Usage usage = imageStore.usage();
+                last.set(new Timed(usage, now));
+                return usage;
+            } catch (IOException e) {
+                log.warn("이미지 저장소 집계 실패: {}", e.getMessage());
+                return cached == null ? new ImageStore.Usage(0, 0) : cached.usage();
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.miniproject04.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class PasswordHashConfig {
+
+    /**
+     * 비밀번호 해시 계산 전용 풀
+     * - 로그인/가입이 몰려도 해시 계산은 workers 개 CPU 까지만 사용 (나머지는 책 API 용)
+     * - 큐가 가득 차면 TaskRejectedException → 503
+     */
+    @Bean(name = "passwordHashExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${auth.hash.workers:2}") int workers,
+            @Value("${auth.hash.queue-capacity:200}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.miniproject04.config;
+
+import com.example.miniproject04.search.BookSearchIndex;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@Configuration
+public class SearchConfig {
+
+    /**
+     * 책 검색 색인
+     * search.index-dir 가 비어 있으면 메모리 색인 (기동마다 재색인)
+     */
+    @Bean(destroyMethod = "close")
+    public BookSearchIndex bookSearchIndex(
+            @Value("${search.index-dir:}") String indexDir,
+            @Value("${search.refresh-interval:500ms}") Duration refreshInterval,
+            @Value("${search.commit-interval:30s}") Duration commitInterval) throws IOException {
+
+        Directory directory = StringUtils.hasText(indexDir)
+                ? FSDirectory.open(Paths.get(indexDir).toAbsolutePath().normalize())
+                : new ByteBuffersDirectory();
+
+        return new BookSearchIndex(directory, refreshInterval.toMillis(), commitInterval.toMillis());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.miniproject04.config;
+
+import com.example.miniproject04.trace.SlowQueryLog;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * 느린 쿼리 로그 (운영 프로필에서 show-sql / SQL 로그 대신 사용)
+ * DataSource 를 JDBC 프록시로 감싸 실행 시간과 바인드 값을 확인
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.slow-query.enabled", havingValue = "true")
+public class SlowQueryConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public SlowQueryLog slowQueryLog(
+            @Value("${sql.slow-query.threshold:200ms}") Duration threshold,
+            @Value("${sql.slow-query.report-interval:1m}") Duration reportInterval) {
+        return new SlowQueryLog(threshold, reportInterval);
+    }
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourceProxy(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(slowQueryLog.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.miniproject04.config;
+
+import com.example.miniproject04.service.ImageVariantService;
+import com.example.miniproject04.storage.ImageStore;
+import com.example.miniproject04.trace.PhaseTimingInterceptor;
+import com.example.miniproject04.trace.RequestTrace;
+import com.example.miniproject04.trace.RequestTraceFilter;
+import com.example.miniproject04.trace.SlowRequestEndpoint;
+import com.example.miniproject04.trace.SlowRequestLog;
+import com.example.miniproject04.trace.SqlTimingListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * 요청별 단계 시간 추적 (느린 요청 기록 + trace.server-timing=true 일 때 Server-Timing 헤더)
+ * trace.enabled=false 이면 필터/프록시/리스너 모두 등록하지 않음
+ */
+@Configuration
+@ConditionalOnProperty(name = "trace.enabled", havingValue = "true")
+public class TraceConfig {
+
+    @Bean
+    public SlowRequestLog slowRequestLog(@Value("${trace.slow.capacity:100}") int capacity) {
+        return new SlowRequestLog(capacity);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestTraceFilter> requestTraceFilter(
+            SlowRequestLog slowRequestLog,
+            @Value("${trace.slow.threshold:500ms}") Duration threshold,
+            @Value("${trace.server-timing:false}") boolean serverTiming) {
+
+        FilterRegistrationBean<RequestTraceFilter> registration =
+                new FilterRegistrationBean<>(new RequestTraceFilter(slowRequestLog, threshold, serverTiming));
+        registration.addUrlPatterns("/api/*", "/images/*");
+        registration.setName("requestTraceFilter");
+        // 다른 필터(ETag 등) 시간까지 포함하도록 가장 바깥에서 실행
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public SlowRequestEndpoint slowRequestEndpoint(
+            SlowRequestLog slowRequestLog,
+            @Value("${trace.slow.threshold:500ms}") Duration threshold) {
+        return new SlowRequestEndpoint(slowRequestLog, threshold);
+    }
+
+    // Hibernate 세션마다 JDBC 실행 시간 리스너 부착
+    @Bean
+    public HibernatePropertiesCustomizer sqlTimingCustomizer() {
+        return properties -> properties.put(
+                AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingListener.class.getName());
+    }
+
+    /**
+     * @Service 빈 호출 시간 (트랜잭션 커밋까지 포함되도록 트랜잭션 프록시보다 바깥)
+     * 별도 AspectJ 없이 트랜잭션/캐시와 같은 인프라 auto-proxy 로 적용
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceTimingAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(Service.class, true),
+                new PhaseTimingInterceptor(RequestTrace.Phase.SERVICE));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    // 이미지 저장소 / 변형본 렌더링 I/O 시간
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor imageTimingAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(clazz ->
+                ImageStore.class.isAssignableFrom(clazz) || ImageVariantService.class.isAssignableFrom(clazz));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                pointcut, new PhaseTimingInterceptor(RequestTrace.Phase.IMAGE));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.miniproject04.config;
+
+import com.example.miniproject04.trace.PinnedThreadEndpoint;
+import com.example.miniproject04.trace.PinnedThreadLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 가상 스레드 모드 (spring.threads.virtual.enabled=true + Java 21) 에서만 피닝 기록
+ * 요청 처리(Tomcat)/@Async/스케줄러의 가상 스레드 전환은 Spring Boot 자동 설정이 담당
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public PinnedThreadLog pinnedThreadLog(
+            MeterRegistry registry,
+            @Value("${threads.pinned.threshold:20ms}") Duration threshold,
+            @Value("${threads.pinned.capacity:100}") int capacity,
+            @Value("${threads.pinned.stack-depth:12}") int stackDepth) {
+        return new PinnedThreadLog(threshold, capacity, stackDepth, registry);
+    }
+
+    @Bean
+    public PinnedThreadEndpoint pinnedThreadEndpoint(PinnedThreadLog pinnedThreadLog) {
+        return new PinnedThreadEndpoint(pinnedThreadLog);
+    }
+}
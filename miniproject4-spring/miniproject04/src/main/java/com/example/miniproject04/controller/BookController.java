@@ -1,13 +1,31 @@
 package com.example.miniproject04.controller;
 
 import com.example.miniproject04.Entity.Book;
+import com.example.miniproject04.auth.CurrentUser;
+import com.example.miniproject04.dto.BookDto;
+import com.example.miniproject04.dto.ResponseDto;
+import com.example.miniproject04.exception.ApiException;
+import com.example.miniproject04.exception.ErrorCode;
+import com.example.miniproject04.service.BookExportService;
+import com.example.miniproject04.service.BookImportService;
+import com.example.miniproject04.service.BookListSnapshot;
+import com.example.miniproject04.service.BookSearchService;
 import com.example.miniproject04.service.BookService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
-import java.util.*;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/v1/books")
@@ -15,103 +33,236 @@ import java.util.*;
 @CrossOrigin(origins = "*")
 public class BookController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
     private final BookService bookService;
+    private final BookSearchService bookSearchService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final BookListSnapshot bookListSnapshot;
 
-    /** 책 생성 */
+    /** 책 생성 (작성자 = 로그인 사용자) */
     @PostMapping
-    public ResponseEntity<?> createBook(@RequestBody Map<String, Object> req) {
+    public ResponseEntity<?> createBook(@RequestBody BookDto.CreateRequest req) {
 
-        Long userId = Long.valueOf(req.get("user_id").toString());
-        String title = (String) req.get("title");
-        String description = (String) req.get("description");
+        Long userId = CurrentUser.require();
+        String title = req.title();
+        String description = req.description();
 
         if (title == null || title.trim().isEmpty() ||
                 description == null || description.trim().isEmpty()) {
-            throw new IllegalArgumentException("제목과 내용을 다시 확인");
+            throw new ApiException(ErrorCode.INVALID_BOOK);
         }
 
         Book saved = bookService.createBook(userId, title, description);
 
-        return ResponseEntity.ok(Map.of("book_id", saved.getBookId()));
+        return ResponseEntity.ok(new BookDto.CreateResponse(saved.getBookId()));
     }
 
-    /** 책 단건 조회 */
+    /** 책 일괄 등록 (요청 본문을 스트림으로 읽음, UTF-8)
+     *  Content-Type: application/x-ndjson → 한 줄에 {"title":"..","description":".."}
+     *  Content-Type: text/csv → 첫 줄 title,description 헤더
+     *  잘못된 행은 건너뛰고 결과의 errors 에 줄 번호와 함께 기록
+     *  작성자는 모든 행이 로그인 사용자 (내보내기 파일의 user_id 열/필드는 무시) */
+    @PostMapping(value = "/import", consumes = {NDJSON, CSV})
+    public ResponseEntity<?> importBooks(HttpServletRequest request) throws IOException {
+
+        Long userId = CurrentUser.require();
+
+        BookImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? BookImportService.Format.CSV
+                : BookImportService.Format.NDJSON;
+
+        return ResponseEntity.ok(bookImportService.importBooks(request.getInputStream(), format, userId));
+    }
+
+    /** 책 전체 내보내기 (작성자 id, 표지 URL 포함)
+     *  GET /api/v1/books/export?format=ndjson|csv&gzip=true
+     *  응답은 요청 스레드가 아닌 내보내기 풀에서 한 행씩 전송 (export.timeout 적용) */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportBooks(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            @RequestParam(name = "gzip", defaultValue = "false") boolean gzip,
+            HttpServletResponse response) {
+
+        BookExportService.Format exportFormat = switch (format.toLowerCase(Locale.ROOT)) {
+            case "ndjson" -> BookExportService.Format.NDJSON;
+            case "csv" -> BookExportService.Format.CSV;
+            default -> throw new ApiException(ErrorCode.INVALID_EXPORT_FORMAT);
+        };
+
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : exportFormat == BookExportService.Format.CSV ? MediaType.parseMediaType(CSV + ";charset=UTF-8")
+                : MediaType.parseMediaType(NDJSON);
+
+        String fileName = "books." + exportFormat.extension() + (gzip ? ".gz" : "");
+
+        // 헤더는 본문 전송 전에 요청 스레드에서 설정
+        response.setContentType(contentType.toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString());
+
+        return bookExportService.exportTask(response::getOutputStream, exportFormat, gzip, ImageController.BASE_URL);
+    }
+
+    /** 책 단건 조회
+     *  ETag = book_id + version + power, If-None-Match 일치 시 304 */
     @PostMapping("/check")
-    public ResponseEntity<?> checkBook(@RequestBody Map<String, Object> req) {
+    public ResponseEntity<?> checkBook(@RequestBody BookDto.BookRequest req,
+                                       @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        Long bookId = req.bookId();
+
+        BookDto.Detail book = bookService.getBookDetail(bookId);
+
+        boolean owner = book.ownerId().equals(CurrentUser.id());
+        String power = owner ? "작성자" : "이용자";
+
+        String etag = ETags.weak("b" + bookId + "-v" + book.version() + (owner ? "-o" : "-u"));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(ETags.REVALIDATE)
+                .eTag(etag)
+                .body(new BookDto.CheckResponse(power, book.title(), book.description(), book.version()));
+    }
 
-        Long bookId = Long.valueOf(req.get("book_id").toString());
-        Long userId = Long.valueOf(req.get("user_id").toString());
+    /** 책 상세 조회 (책 + 권한 + 표지 URL, 단일 쿼리)
+     *  check + image/check 두 번 호출을 대체, 권한은 로그인 토큰 기준 */
+    @GetMapping("/{book_id}/full")
+    public ResponseEntity<?> getBookFull(@PathVariable("book_id") Long bookId) {
 
-        Book book = bookService.findBook(bookId);
+        BookDto.Full book = bookService.findBookFull(bookId);
 
-        String power = book.getUser().getUserId().equals(userId)
-                ? "작성자" : "이용자";
+        boolean owner = book.ownerId().equals(CurrentUser.id());
+        String power = owner ? "작성자" : "이용자";
 
-        return ResponseEntity.ok(
-                Map.of(
-                        "power", power,
-                        "title", book.getTitle(),
-                        "description", book.getDescription()
-                )
+        BookDto.FullResponse body = new BookDto.FullResponse(
+                power,
+                book.title(),
+                book.description(),
+                book.imageUrl() == null ? null : ImageController.BASE_URL + book.imageUrl(),
+                book.version()
         );
+
+        // GET 이므로 If-None-Match 일치 시 Spring 이 304 처리
+        String etag = ETags.weak("b" + bookId + "-v" + book.version() + (owner ? "-o" : "-u")
+                + "-" + (book.imageUrl() == null ? "0" : Integer.toHexString(book.imageUrl().hashCode())));
+
+        return ResponseEntity.ok()
+                .cacheControl(ETags.REVALIDATE)
+                .eTag(etag)
+                .body(body);
     }
 
-    /** 책 목록 조회 */
+    /** 책 목록 조회
+     *  after_book_id 또는 limit 이 있으면 커서 기반 페이지 조회,
+     *  없으면 기존처럼 전체 목록 반환
+     *  ETag = 목록 버전 (책 변경 커밋마다 바뀜), If-None-Match 일치 시 조회 없이 304
+     *  홈 화면 앞쪽 페이지는 BookListSnapshot 의 미리 만든 바이트로 응답 */
     @GetMapping("/list")
-    public ResponseEntity<?> listBooks() {
+    public ResponseEntity<?> listBooks(
+            @RequestParam(name = "after_book_id", required = false) Long afterBookId,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        // 조회 전에 읽은 버전 (조회 중 변경이 커밋되면 다음 요청은 다른 ETag)
+        String etag = ETags.weak("l" + bookListSnapshot.version());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
+        }
+
+        if (afterBookId != null || limit != null) {
+            int size = (limit == null) ? DEFAULT_PAGE_SIZE
+                    : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+            BookListSnapshot.Entry cached = bookListSnapshot.find(afterBookId, size);
+            if (cached != null) {
+                return snapshotPage(cached, acceptEncoding);
+            }
+
+            BookDto.Page page = bookService.findBookPage(afterBookId, size);
+            return ResponseEntity.ok()
+                    .cacheControl(ETags.REVALIDATE)
+                    .eTag(etag)
+                    .body(page);
+        }
 
         List<Book> books = bookService.findBooks();
 
         if (books.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(Map.of(
-                            "status", "error",
-                            "message", "조회할 수 있는 책이 없습니다."
-                    ));
+            throw new ApiException(ErrorCode.NO_BOOKS);
         }
 
-        List<Map<String, Object>> data = new ArrayList<>();
+        List<BookDto.Summary> data = new ArrayList<>(books.size());
 
         for (Book book : books) {
-            Map<String, Object> item = new HashMap<>();
-            item.put("book_id", book.getBookId());
-            item.put("title", book.getTitle());
-            item.put("description", book.getDescription());
-            data.add(item);
+            data.add(new BookDto.Summary(book.getBookId(), book.getTitle(), book.getDescription()));
         }
 
-        return ResponseEntity.ok(Map.of("data", data));
+        return ResponseEntity.ok()
+                .cacheControl(ETags.REVALIDATE)
+                .eTag(etag)
+                .body(new BookDto.Listing(data));
     }
 
-    /** 책 수정 */
-    @PutMapping("/put")
-    public ResponseEntity<?> updateBook(@RequestBody Map<String, Object> req) {
+    // 미리 만든 목록 응답: 조회/직렬화 없이 바이트 그대로 (gzip 을 받으면 압축본)
+    // (스냅샷을 만든 버전의 ETag, 위에서 읽은 버전보다 새 것일 수 있음)
+    private static ResponseEntity<?> snapshotPage(BookListSnapshot.Entry page, String acceptEncoding) {
 
-        Long bookId = Long.valueOf(req.get("book_id").toString());
-        Long userId = Long.valueOf(req.get("user_id").toString());
-        String title = (String) req.get("title");
-        String description = (String) req.get("description");
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
 
-        bookService.updateBook(bookId, userId, title, description, null);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(ETags.REVALIDATE)
+                .eTag(ETags.weak("l" + page.version()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? page.gzip() : page.json());
+    }
+
+    /** 책 검색 (제목/내용, 점수순)
+     *  GET /api/v1/books/search?q=검색어&page=0&limit=20 */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchBooks(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+
+        int size = (limit == null) ? DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        return ResponseEntity.ok(bookSearchService.search(query, page, size));
+    }
+
+    /** 책 수정 (version 을 보내면 낙관적 잠금) */
+    @PutMapping("/put")
+    public ResponseEntity<?> updateBook(@RequestBody BookDto.UpdateRequest req) {
+
+        bookService.updateBook(req.bookId(), CurrentUser.require(), req.version(), req.title(), req.description());
 
         return ResponseEntity.ok().build();
     }
 
     //책 삭제
     @DeleteMapping("/delete")
-    public ResponseEntity<?> deleteBook(@RequestBody Map<String, Object> req) {
+    public ResponseEntity<?> deleteBook(@RequestBody BookDto.BookRequest req) {
 
-        Long bookId = Long.valueOf(req.get("book_id").toString());
-        Long userId = Long.valueOf(req.get("user_id").toString());
+        bookService.deleteBook(req.bookId(), CurrentUser.require());
 
-        bookService.deleteBook(bookId, userId);
-
-        return ResponseEntity.ok(
-                Map.of(
-                        "status", "success",
-                        "message", "삭제되었습니다."
-                )
-        );
+        return ResponseEntity.ok(ResponseDto.success("삭제되었습니다."));
     }
 
 
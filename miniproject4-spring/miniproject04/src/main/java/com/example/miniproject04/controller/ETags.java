@@ -0,0 +1,51 @@
+package com.example.miniproject04.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+
+/**
+ * POST 조회 API 용 ETag 처리
+ * (Spring 의 checkNotModified 는 GET/HEAD 에서만 If-None-Match 를 보므로 직접 비교)
+ */
+final class ETags {
+
+    // 캐시는 하되 매번 ETag 로 재검증
+    static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    private ETags() {
+    }
+
+    static String weak(String value) {
+        return "W/\"" + value + "\"";
+    }
+
+    /**
+     * If-None-Match 가 etag 와 일치하면 true (약한 비교, "*" 포함)
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (!StringUtils.hasText(ifNoneMatch)) return false;
+
+        String target = strip(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*") || strip(c).equals(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static ResponseEntity<?> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(REVALIDATE)
+                .header(HttpHeaders.ETAG, etag)
+                .build();
+    }
+
+    private static String strip(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
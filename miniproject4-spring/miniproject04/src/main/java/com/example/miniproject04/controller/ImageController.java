@@ -1,13 +1,17 @@
 package com.example.miniproject04.controller;
 
 import com.example.miniproject04.Entity.GeneratedImage;
+import com.example.miniproject04.Entity.ImageStatus;
+import com.example.miniproject04.auth.CurrentUser;
+import com.example.miniproject04.dto.ImageDto;
+import com.example.miniproject04.service.ImageIngestService;
 import com.example.miniproject04.service.ImageService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
-
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/image")
@@ -15,101 +19,78 @@ import java.util.Map;
 public class ImageController {
 
     private final ImageService imageService;
+    private final ImageIngestService imageIngestService;
 
-    private final String BASE_URL = "http://localhost:8080"; // ⭐ 이미지 절대경로 prefix
+    static final String BASE_URL = "http://localhost:8080"; // ⭐ 이미지 절대경로 prefix
 
     /** =======================================================
-     * 1) 이미지 생성
+     * 1) 이미지 생성 (다운로드는 비동기, 202 + job_id 반환)
      * ======================================================= */
     @PostMapping
-    public ResponseEntity<?> createImage(@RequestBody Map<String, Object> req) {
-
-        try {
-            String tempUrl = (String) req.get("image_url");
-            Long bookId = Long.valueOf(req.get("book_id").toString());
-
-            // 상대 URL 받음 → "/images/파일명.png"
-            String savedUrl = imageService.createImage(tempUrl, bookId);
-
-            // ⭐ 절대 URL로 변환
-            String fullUrl = BASE_URL + savedUrl;
+    public ResponseEntity<?> createImage(@RequestBody ImageDto.CreateRequest req) {
 
-            return ResponseEntity.ok(
-                    Map.of(
-                            "status", "success",
-                            "image_url", fullUrl
-                    )
-            );
+        // PENDING 행 저장 후 다운로드 작업 등록 (없는 책이면 404)
+        ImageService.Job job = imageService.createImage(req.bookId());
+        imageIngestService.submit(job, req.imageUrl());
 
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(404).body(
-                    Map.of("status", "error", "message", e.getMessage())
-            );
-        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ImageDto.JobAccepted.pending(job.jobId()));
     }
 
     /** =======================================================
      * 2) 이미지 조회
      * ======================================================= */
     @PostMapping("/check")
-    public ResponseEntity<?> getImage(@RequestBody Map<String, Object> req) {
-
-        try {
-            Long bookId = Long.valueOf(req.get("book_id").toString());
-            GeneratedImage img = imageService.getImage(bookId);
-
-            // ⭐ 절대 URL 생성
-            String fullUrl = BASE_URL + img.getImageUrl();
-
-            return ResponseEntity.ok(
-                    Map.of(
-                            "power", "이용자",
-                            "image_url", fullUrl
-                    )
-            );
-
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(404).body(
-                    Map.of("status", "error", "message", e.getMessage())
-            );
+    public ResponseEntity<?> getImage(@RequestBody ImageDto.CheckRequest req,
+                                      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        // 저장된 이미지가 없으면 404
+        String imageUrl = imageService.getImageUrl(req.bookId());
+
+        // 이미지 URL(내용 주소 파일명)이 바뀌면 ETag 도 바뀜
+        String etag = ETags.weak(Integer.toHexString(imageUrl.hashCode()));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ETags.notModified(etag);
         }
+
+        // ⭐ 절대 URL 생성
+        String fullUrl = BASE_URL + imageUrl;
+
+        return ResponseEntity.ok()
+                .cacheControl(ETags.REVALIDATE)
+                .eTag(etag)
+                .body(new ImageDto.CheckResponse("이용자", fullUrl));
     }
 
     /** =======================================================
-     * 3) 이미지 수정
+     * 2-1) 다운로드 작업 상태 조회
      * ======================================================= */
-    @PutMapping("/put")
-    public ResponseEntity<?> updateImage(@RequestBody Map<String, Object> req) {
+    @GetMapping("/jobs/{job_id}")
+    public ResponseEntity<?> getJob(@PathVariable("job_id") Long jobId) {
 
-        try {
-            Long bookId = Long.valueOf(req.get("book_id").toString());
-            Long userId = Long.valueOf(req.get("user_id").toString());
-            String tempUrl = (String) req.get("image_url");
+        GeneratedImage img = imageService.getJob(jobId);
 
-            // 상대 URL 받음
-            String updatedUrl = imageService.updateImage(bookId, tempUrl, userId);
+        // 완료된 경우에만 이미지 URL 포함
+        String imageUrl = (img.getStatus() == ImageStatus.READY) ? BASE_URL + img.getImageUrl() : null;
 
-            // ⭐ 절대 URL 변환
-            String fullUrl = BASE_URL + updatedUrl;
-
-            return ResponseEntity.ok(
-                    Map.of(
-                            "status", "success",
-                            "image_url", fullUrl
-                    )
-            );
+        return ResponseEntity.ok(new ImageDto.JobResponse(
+                img.getImgId(),
+                img.getStatus().name().toLowerCase(),
+                imageUrl
+        ));
+    }
 
-        } catch (IllegalArgumentException e) {
+    /** =======================================================
+     * 3) 이미지 수정 (다운로드는 비동기, 202 + job_id 반환)
+     * ======================================================= */
+    @PutMapping("/put")
+    public ResponseEntity<?> updateImage(@RequestBody ImageDto.UpdateRequest req) {
 
-            if (e.getMessage().equals("권한 없음")) {
-                return ResponseEntity.status(403).body(
-                        Map.of("status", "error", "message", e.getMessage())
-                );
-            }
+        // 권한 확인 후 PENDING 전환, 다운로드 작업 등록 (없으면 404, 작성자가 아니면 403)
+        ImageService.Job job = imageService.updateImage(req.bookId(), CurrentUser.require());
+        imageIngestService.submit(job, req.imageUrl());
 
-            return ResponseEntity.status(404).body(
-                    Map.of("status", "error", "message", e.getMessage())
-            );
-        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ImageDto.JobAccepted.pending(job.jobId()));
     }
 }
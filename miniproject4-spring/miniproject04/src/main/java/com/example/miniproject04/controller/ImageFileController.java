@@ -0,0 +1,125 @@
+package com.example.miniproject04.controller;
+
+import com.example.miniproject04.service.ImageVariantService;
+import com.example.miniproject04.storage.ImageStore;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장된 이미지 파일 서빙 (/images/{파일명})
+ * - Range 요청: ResourceRegion 으로 206 부분 응답
+ * - 전체 요청 + 로컬 파일: Tomcat sendfile 로 커널 zero-copy 전송
+ * - w / format 파라미터: 리사이즈 변형본 (ImageVariantService, 열어 둔 파일에서 전송하고 요청이 끝나면 닫음)
+ * - 파일명 기반 ETag/Last-Modified + immutable Cache-Control
+ */
+@RestController
+@RequiredArgsConstructor
+public class ImageFileController {
+
+    // Tomcat sendfile 요청 속성 (DefaultServlet 과 동일한 방식)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String VARIANT_ATTRIBUTE = ImageFileController.class.getName() + ".variant";
+
+    // 이미지 파일은 이름이 바뀌지 않는 한 내용도 바뀌지 않음 → 1년 + immutable
+    private static final CacheControl IMMUTABLE =
+            CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    private final ImageStore imageStore;
+    private final ImageVariantService imageVariantService;
+
+    @GetMapping("/images/{fileName:.+}")
+    public ResponseEntity<Resource> getImageFile(@PathVariable String fileName,
+                                                 @RequestParam(name = "w", required = false) Integer width,
+                                                 @RequestParam(name = "format", required = false) String format,
+                                                 ServletWebRequest webRequest) throws IOException {
+
+        // 변형본 요청
+        if (width != null || format != null) {
+            int presetWidth = ImageVariantService.presetWidth(width == null ? Integer.MAX_VALUE : width);
+            String variantFormat = ImageVariantService.normalizeFormat(format);
+
+            ImageVariantService.Variant variant =
+                    imageVariantService.getVariant(fileName, presetWidth, variantFormat).orElse(null);
+
+            if (variant == null) {
+                return ResponseEntity.notFound().build();
+            }
+            // 본문을 다 쓴 뒤(요청 완료 시) 닫음
+            RequestContextHolder.currentRequestAttributes()
+                    .registerDestructionCallback(VARIANT_ATTRIBUTE, variant::close, RequestAttributes.SCOPE_REQUEST);
+            return serve(variant, variant.getFilename(), webRequest);
+        }
+
+        Resource resource = imageStore.get(fileName).orElse(null);
+
+        if (resource == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return serve(resource, fileName, webRequest);
+    }
+
+    private ResponseEntity<Resource> serve(Resource resource, String fileName,
+                                           ServletWebRequest webRequest) throws IOException {
+
+        // 파일명이 내용(digest/UUID)으로 정해지므로 같은 이름 = 같은 바이트
+        // → ETag 는 파일명, 304 판단은 sendfile 설정 전에 (304 본문에 파일이 실리지 않도록)
+        String etag = "\"" + fileName + "\"";
+        if (webRequest.checkNotModified(etag, resource.lastModified())) {
+            webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE.getHeaderValue());
+            return null;
+        }
+
+        HttpServletRequest request = webRequest.getRequest();
+        MediaType contentType = MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+        // 전체 전송 + sendfile 지원 시 본문은 컨테이너가 파일에서 직접 전송
+        if (request.getHeader(HttpHeaders.RANGE) == null
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))
+                && resource.isFile()) {
+
+            File file = resource.getFile();
+            long length = file.length();
+
+            request.setAttribute(SENDFILE_FILENAME, file.getAbsolutePath());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+
+            return ResponseEntity.ok()
+                    .cacheControl(IMMUTABLE)
+                    .contentType(contentType)
+                    .contentLength(length)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .build();
+        }
+
+        // Range 헤더가 있으면 Spring 이 ResourceRegion 으로 206 응답 처리
+        return ResponseEntity.ok()
+                .cacheControl(IMMUTABLE)
+                .contentType(contentType)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(resource);
+    }
+}
@@ -1,13 +1,13 @@
 package com.example.miniproject04.controller;
 
 import com.example.miniproject04.Entity.User;
+import com.example.miniproject04.auth.AccessTokens;
+import com.example.miniproject04.dto.UserDto;
 import com.example.miniproject04.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
-
 @RestController
 @RequestMapping("/api/v1/users")
 @RequiredArgsConstructor
@@ -15,38 +15,33 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final AccessTokens accessTokens;
 
     // 로그인    
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String, Object> request) {
-
-        // API 명세상 user_id:null을 포함해야 하지만,
-        // User 엔티티 매핑 문제로 Controller에서는 Map으로 받아 login_id, password만 사용함.
-        String loginId = (String) request.get("login_id");
-        String password = (String) request.get("password");
+    public ResponseEntity<?> login(@RequestBody UserDto.LoginRequest request) {
 
+        // API 명세상 user_id:null을 포함하지만 login_id, password만 사용함.
         // 서비스에서 예외 발생 → 글로벌 핸들러가 처리
-        User user = userService.login(loginId, password);
+        User user = userService.login(request.loginId(), request.password());
 
-        return ResponseEntity.ok(
-                Map.of("user_id", user.getUserId())
-        );
+        return ResponseEntity.ok(loginResponse(user));
     }
 
     //회원가입
     @PostMapping("/signup")
-    public ResponseEntity<?> signup(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> signup(@RequestBody UserDto.LoginRequest request) {
 
+        // login_id, password not null 검사는 서비스에서
+        User saved = userService.signup(request.loginId(), request.password());
 
-        String loginId = (String) request.get("login_id");   // not null
-        String password = (String) request.get("password");  // not null
-
-        // 서비스에 회원가입 위임
-        User saved = userService.signup(loginId, password);
+        // 성공 시 생성된 user_id + 토큰 반환 (로그인 응답과 통일)
+        return ResponseEntity.ok(loginResponse(saved));
+    }
 
-        // 성공 시 생성된 user_id 반환 (로그인 응답과 통일)
-        return ResponseEntity.ok(
-                Map.of("user_id", saved.getUserId())
-        );
+    // 서명된 토큰 발급 (이후 요청은 본문 user_id 대신 Authorization 헤더로 사용자 확인)
+    private UserDto.LoginResponse loginResponse(User user) {
+        AccessTokens.Issued issued = accessTokens.issue(user.getUserId());
+        return new UserDto.LoginResponse(user.getUserId(), issued.token(), issued.expiresAt());
     }
 }
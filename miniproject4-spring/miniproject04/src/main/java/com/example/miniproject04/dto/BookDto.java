@@ -0,0 +1,222 @@
+package com.example.miniproject04.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+public class BookDto {
+
+    /* ===================== 요청 ===================== */
+
+    /** 책 생성 (POST /api/v1/books), 일괄 등록(/import) 의 한 행
+     *  작성자는 항상 Authorization 토큰 기준 (본문 user_id 는 무시) */
+    public record CreateRequest(
+            String title,
+            String description
+    ) {
+    }
+
+    /** 책 단건 조회 / 삭제 (POST /check, DELETE /delete)
+     *  요청자는 Authorization 토큰 기준 (본문 user_id 는 무시) */
+    public record BookRequest(
+            @JsonProperty("book_id") Long bookId
+    ) {
+    }
+
+    /** 책 수정 (PUT /put)
+     *  version: 조회 응답의 version, 보내면 그 사이 다른 수정이 있었을 때 409 */
+    public record UpdateRequest(
+            @JsonProperty("book_id") Long bookId,
+            String title,
+            String description,
+            Long version
+    ) {
+    }
+
+    /* ===================== 응답 ===================== */
+
+    public record CreateResponse(
+            @JsonProperty("book_id") Long bookId
+    ) {
+    }
+
+    public record CheckResponse(
+            String power,
+            String title,
+            String description,
+            Long version
+    ) {
+    }
+
+    /** 표지가 없으면 image_url 은 null 로 내려감 */
+    public record FullResponse(
+            String power,
+            String title,
+            String description,
+            @JsonProperty("image_url") String imageUrl,
+            Long version
+    ) {
+    }
+
+    /**
+     * 목록 조회용 경량 프로젝션 (엔티티/User 조인 없이 필요한 컬럼만 조회)
+     */
+    public record Summary(
+            @JsonProperty("book_id") Long bookId,
+            String title,
+            String description
+    ) {
+        // 목록에서 내려줄 description 최대 길이
+        public static final int DESCRIPTION_LENGTH = 100;
+    }
+
+    /**
+     * 단건 조회 캐시용 불변 값 (엔티티 대신 캐시에 보관)
+     */
+    public record Detail(
+            Long bookId,
+            String title,
+            String description,
+            Long ownerId,
+            Long version
+    ) {
+    }
+
+    /**
+     * 조건부 수정/삭제 실패 원인 확인용 (작성자 id, 현재 버전)
+     */
+    public record Ownership(
+            Long ownerId,
+            Long version
+    ) {
+    }
+
+    /**
+     * 상세 페이지용 단일 쿼리 프로젝션 (책 + 작성자 id + 표지 URL)
+     * 표지가 없거나 아직 준비되지 않았으면 imageUrl 은 null
+     */
+    public record Full(
+            Long bookId,
+            String title,
+            String description,
+            Long ownerId,
+            Long version,
+            String imageUrl
+    ) {
+    }
+
+    /**
+     * 커서(keyset) 기반 목록 응답
+     * next_cursor 가 null 이면 마지막 페이지
+     */
+    @JsonSerialize(using = PageSerializer.class)
+    public record Page(
+            List<Summary> data,
+            @JsonProperty("next_cursor") Long nextCursor
+    ) {
+    }
+
+    /**
+     * 검색 결과 (점수순)
+     * next_page 가 null 이면 마지막 페이지
+     */
+    public record SearchPage(
+            List<Summary> data,
+            @JsonProperty("next_page") Integer nextPage
+    ) {
+    }
+
+    /**
+     * 일괄 등록 결과 (POST /api/v1/books/import)
+     * errors 는 앞의 일부만 담김 (failed 가 더 크면 생략된 오류가 있음)
+     */
+    public record ImportResult(
+            long imported,
+            long failed,
+            List<ImportError> errors
+    ) {
+    }
+
+    /** line: 본문 줄 번호 (1부터) */
+    public record ImportError(
+            long line,
+            String message
+    ) {
+    }
+
+    /**
+     * 전체 목록 응답 (after_book_id / limit 없이 호출한 기존 방식)
+     */
+    @JsonSerialize(using = ListingSerializer.class)
+    public record Listing(
+            List<Summary> data
+    ) {
+    }
+
+    /* ============ 목록 직렬화 (JsonGenerator 로 직접 기록) ============ */
+    // 목록은 항목 수만큼 반복되므로 리플렉션 기반 BeanSerializer 대신
+    // 미리 인코딩한 필드명으로 바로 출력 스트림에 씀
+
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString NEXT_CURSOR = new SerializedString("next_cursor");
+    private static final SerializedString BOOK_ID = new SerializedString("book_id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+
+    private static void writeData(JsonGenerator gen, List<Summary> data) throws IOException {
+        gen.writeFieldName(DATA);
+        gen.writeStartArray(data, data.size());
+        for (Summary s : data) {
+            gen.writeStartObject();
+            gen.writeFieldName(BOOK_ID);
+            gen.writeNumber(s.bookId());
+            gen.writeFieldName(TITLE);
+            gen.writeString(s.title());
+            gen.writeFieldName(DESCRIPTION);
+            gen.writeString(s.description());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    static final class PageSerializer extends StdSerializer<Page> {
+
+        PageSerializer() {
+            super(Page.class);
+        }
+
+        @Override
+        public void serialize(Page page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            writeData(gen, page.data());
+            gen.writeFieldName(NEXT_CURSOR);
+            if (page.nextCursor() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(page.nextCursor());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static final class ListingSerializer extends StdSerializer<Listing> {
+
+        ListingSerializer() {
+            super(Listing.class);
+        }
+
+        @Override
+        public void serialize(Listing listing, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            writeData(gen, listing.data());
+            gen.writeEndObject();
+        }
+    }
+
+}
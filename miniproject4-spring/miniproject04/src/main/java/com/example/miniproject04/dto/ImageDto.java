@@ -0,0 +1,56 @@
+package com.example.miniproject04.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class ImageDto {
+
+    /* ===================== 요청 ===================== */
+
+    /** 이미지 생성 (POST /api/v1/image) */
+    public record CreateRequest(
+            @JsonProperty("book_id") Long bookId,
+            @JsonProperty("image_url") String imageUrl
+    ) {
+    }
+
+    /** 이미지 조회 (POST /check) */
+    public record CheckRequest(
+            @JsonProperty("book_id") Long bookId
+    ) {
+    }
+
+    /** 이미지 수정 (PUT /put, 요청자는 Authorization 토큰 기준) */
+    public record UpdateRequest(
+            @JsonProperty("book_id") Long bookId,
+            @JsonProperty("image_url") String imageUrl
+    ) {
+    }
+
+    /* ===================== 응답 ===================== */
+
+    /** 다운로드 작업 접수 (202) */
+    public record JobAccepted(
+            String status,
+            @JsonProperty("job_id") Long jobId
+    ) {
+        public static JobAccepted pending(Long jobId) {
+            return new JobAccepted("pending", jobId);
+        }
+    }
+
+    /** 작업 상태, image_url 은 READY 일 때만 포함 */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record JobResponse(
+            @JsonProperty("job_id") Long jobId,
+            String status,
+            @JsonProperty("image_url") String imageUrl
+    ) {
+    }
+
+    public record CheckResponse(
+            String power,
+            @JsonProperty("image_url") String imageUrl
+    ) {
+    }
+}
@@ -1,12 +1,22 @@
 package com.example.miniproject04.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 @Getter
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)   // data 가 없으면 status/message 만
 public class ResponseDto<T> {
     private String status;
     private String message;
     private T data;
+
+    public static ResponseDto<Void> success(String message) {
+        return new ResponseDto<>("success", message, null);
+    }
+
+    public static ResponseDto<Void> error(String message) {
+        return new ResponseDto<>("error", message, null);
+    }
 }
@@ -1,20 +1,22 @@
 package com.example.miniproject04.dto;
 
-import lombok.*;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class UserDto {
 
-    @Getter
-    @NoArgsConstructor
-    public static class LoginRequest {
-        private String login_id;
-        private String password;
+    // 로그인/회원가입 공통 (API 명세상 포함되는 user_id:null 은 무시)
+    public record LoginRequest(
+            @JsonProperty("login_id") String loginId,
+            String password
+    ) {
     }
 
-    @Getter
-    @AllArgsConstructor
-    public static class LoginResponse {
-        private Long user_id;
+    // access_token: 이후 요청의 Authorization: Bearer 값, expires_at: 만료 시각 (epoch 초)
+    public record LoginResponse(
+            @JsonProperty("user_id") Long userId,
+            @JsonProperty("access_token") String accessToken,
+            @JsonProperty("expires_at") long expiresAt
+    ) {
     }
 
 }
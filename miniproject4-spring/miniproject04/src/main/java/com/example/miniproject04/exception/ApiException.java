@@ -0,0 +1,21 @@
+package com.example.miniproject04.exception;
+
+/**
+ * 서비스/컨트롤러에서 던지는 도메인 예외 (GlobalExceptionHandler 가 ErrorCode 로 응답 결정)
+ * - 404/401/403 은 봇/스크래핑 트래픽에서 흔한 정상 흐름이라 스택 트레이스를 채우지 않음
+ * - 메시지 문자열 비교 대신 errorCode 로 구분
+ */
+public class ApiException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    public ApiException(ErrorCode errorCode) {
+        // enableSuppression / writableStackTrace = false → 생성 비용이 객체 할당 수준
+        super(errorCode.message(), null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+}
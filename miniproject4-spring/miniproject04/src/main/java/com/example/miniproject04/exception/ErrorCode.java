@@ -0,0 +1,54 @@
+package com.example.miniproject04.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 클라이언트에 돌려주는 에러 종류 (HTTP 상태 + 화면에 보여줄 메시지)
+ * 응답 본문은 ErrorResponses 가 기동 시 한 번만 직렬화
+ */
+public enum ErrorCode {
+
+    // User
+    LOGIN_FAILED(HttpStatus.UNAUTHORIZED, "아이디 또는 비밀번호가 잘못되었습니다."),
+    LOGIN_REQUIRED(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다."),
+    TOKEN_INVALID(HttpStatus.UNAUTHORIZED, "로그인이 만료되었습니다. 다시 로그인해주세요."),
+    INVALID_SIGNUP(HttpStatus.BAD_REQUEST, "아이디와 비밀번호를 다시 확인해주세요."),
+    DUPLICATE_LOGIN_ID(HttpStatus.BAD_REQUEST, "이미 사용 중인 아이디입니다."),
+    USER_NOT_FOUND(HttpStatus.BAD_REQUEST, "존재하지 않는 사용자입니다."),
+
+    // Book
+    BOOK_NOT_FOUND(HttpStatus.NOT_FOUND, "삭제된 목록입니다."),
+    NO_BOOKS(HttpStatus.NOT_FOUND, "조회할 수 있는 책이 없습니다."),
+    FORBIDDEN(HttpStatus.FORBIDDEN, "권한 없음"),
+    VERSION_CONFLICT(HttpStatus.CONFLICT, "다른 사용자가 먼저 수정했습니다. 새로 불러온 뒤 다시 시도해주세요."),
+    INVALID_BOOK(HttpStatus.BAD_REQUEST, "제목과 내용을 다시 확인"),
+    INVALID_EXPORT_FORMAT(HttpStatus.BAD_REQUEST, "지원하지 않는 내보내기 형식입니다."),
+    INVALID_IMPORT_HEADER(HttpStatus.BAD_REQUEST, "CSV 첫 줄에 title,description 헤더가 필요합니다."),
+
+    // Image (책은 있지만 저장된 이미지가 없거나 작업이 없는 경우)
+    IMAGE_NOT_FOUND(HttpStatus.NOT_FOUND, "삭제된 목록입니다."),
+    INVALID_IMAGE_SIZE(HttpStatus.BAD_REQUEST, "잘못된 이미지 크기입니다."),
+    INVALID_IMAGE_FORMAT(HttpStatus.BAD_REQUEST, "지원하지 않는 이미지 형식입니다."),
+    IMAGE_TOO_LARGE(HttpStatus.UNPROCESSABLE_ENTITY, "크기를 바꿀 수 없을 만큼 큰 이미지입니다."),
+
+    // 작업 큐가 가득 찬 경우 (작업을 넘기는 곳에서 TaskRejectedException 을 바꿔 던짐)
+    EXPORT_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "내보내기 요청이 많습니다. 잠시 후 다시 시도해주세요."),
+    LOGIN_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "로그인 요청이 많습니다. 잠시 후 다시 시도해주세요."),
+    IMAGE_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "이미지 처리 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+
+    private final HttpStatus status;
+    private final String message;
+
+    ErrorCode(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    public String message() {
+        return message;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.miniproject04.exception;
+
+import com.example.miniproject04.dto.ResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * ErrorCode → 응답 본문 (ResponseDto.error 형식)
+ * 에러 종류가 고정이라 기동 시 전부 직렬화해 두고 바이트 그대로 응답
+ */
+@Component
+public class ErrorResponses {
+
+    private final Map<ErrorCode, byte[]> bodies = new EnumMap<>(ErrorCode.class);
+
+    public ErrorResponses(ObjectMapper objectMapper) throws JsonProcessingException {
+        for (ErrorCode code : ErrorCode.values()) {
+            bodies.put(code, objectMapper.writeValueAsBytes(ResponseDto.error(code.message())));
+        }
+    }
+
+    public byte[] body(ErrorCode code) {
+        return bodies.get(code);
+    }
+
+    public ResponseEntity<byte[]> toResponse(ErrorCode code) {
+        return ResponseEntity.status(code.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(bodies.get(code));
+    }
+}
@@ -1,68 +1,29 @@
 package com.example.miniproject04.exception;
 
+import com.example.miniproject04.dto.ResponseDto;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.util.Map;
-
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<?> handleIllegalArgument(IllegalArgumentException e) {
-
-        String msg = e.getMessage();
-        HttpStatus status;
-        String clientMessage;
-
-        switch (msg) {
-            //User
-            case "아이디 또는 비밀번호가 잘못되었습니다.":
-                status = HttpStatus.UNAUTHORIZED; // 401
-                clientMessage = "아이디 또는 비밀번호가 잘못되었습니다.";
-                break;
-            case "아이디와 비밀번호를 다시 확인해주세요.":
-                // 회원가입 시 login_id 또는 password 누락/공백
-                status = HttpStatus.BAD_REQUEST;           // 400
-                clientMessage = "아이디와 비밀번호를 다시 확인해주세요.";
-                break;
-            case "이미 사용 중인 아이디입니다.":
-                status = HttpStatus.BAD_REQUEST;   // 400
-                clientMessage = "이미 사용 중인 아이디입니다.";
-                break;
-            case "존재하지 않는 사용자입니다.":
-                status = HttpStatus.BAD_REQUEST;   // 400
-                clientMessage = "존재하지 않는 사용자입니다.";
-                break;
-            //Book
-            case "존재하지 않는 책입니다.":
-                status = HttpStatus.NOT_FOUND;     // 404
-                clientMessage = "삭제된 목록입니다.";
-                break;
+    private final ErrorResponses errorResponses;
 
-            case "권한이 없습니다.":
-                status = HttpStatus.FORBIDDEN;     // 403
-                clientMessage = "권한 없음";
-                break;
-
-            case "제목과 내용을 다시 확인":
-                status = HttpStatus.BAD_REQUEST;   // 400
-                clientMessage = "제목과 내용을 다시 확인";
-                break;
+    // 도메인 에러 (상태/본문 모두 ErrorCode 로 결정, 본문은 미리 직렬화된 바이트)
+    @ExceptionHandler(ApiException.class)
+    public ResponseEntity<byte[]> handleApi(ApiException e) {
+        return errorResponses.toResponse(e.getErrorCode());
+    }
 
-            default:
-                // 혹시 모르는 다른 IllegalArgumentException 이 들어왔을 때 최소한의 처리
-                status = HttpStatus.BAD_REQUEST;
-                clientMessage = msg;
-                break;
-        }
+    // 입력값 검증 (검색어 길이 등 메시지가 요청마다 다른 경우)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleIllegalArgument(IllegalArgumentException e) {
 
-        return ResponseEntity.status(status)
-                .body(Map.of(
-                        "status", "error",
-                        "message", clientMessage
-                ));
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST) // 400
+                .body(ResponseDto.error(e.getMessage()));
     }
 }
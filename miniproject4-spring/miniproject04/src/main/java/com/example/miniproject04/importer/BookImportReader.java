@@ -0,0 +1,272 @@
+package com.example.miniproject04.importer;
+
+import com.example.miniproject04.dto.BookDto;
+import com.example.miniproject04.exception.ApiException;
+import com.example.miniproject04.exception.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 책 일괄 등록 요청 본문을 한 건씩 읽는 리더 (NDJSON / CSV, UTF-8)
+ * - 요청 스트림에서 레코드 단위로만 읽고 전체 본문을 메모리에 올리지 않음
+ * - 형식 오류는 예외 대신 해당 행의 error 로 돌려주고 다음 행부터 계속 읽음
+ */
+public abstract class BookImportReader {
+
+    // 레코드 최대 길이 (제목 255자 + 내용 2000자 + 여유), 넘는 부분은 읽고 버림
+    public static final int MAX_RECORD_LENGTH = 8 * 1024;
+
+    /**
+     * line: 레코드가 시작된 줄 번호 (1부터)
+     * 형식 오류면 request 는 null, error 에 사유
+     */
+    public record Row(long line, BookDto.CreateRequest request, String error) {
+    }
+
+    private final Reader in;
+    private int pushback = -2;
+    private boolean started;
+
+    // 지금까지 읽은 줄 수
+    protected long line;
+
+    protected BookImportReader(InputStream in) {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    /** {"title":"..","description":".."} 한 줄에 한 건 (그 밖의 필드는 무시) */
+    public static BookImportReader ndjson(InputStream in, ObjectReader reader) {
+        return new Ndjson(in, reader);
+    }
+
+    /** 첫 줄은 title,description 헤더 (순서 무관, 그 밖의 열은 무시), 값은 RFC 4180 따옴표 규칙 */
+    public static BookImportReader csv(InputStream in) throws IOException {
+        return new Csv(in);
+    }
+
+    /** 다음 행, 본문 끝이면 null */
+    public abstract Row next() throws IOException;
+
+    protected int read() throws IOException {
+        if (pushback != -2) {
+            int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        int c = in.read();
+        // 엑셀/메모장에서 저장한 본문 맨 앞의 UTF-8 BOM 은 건너뜀
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') c = in.read();
+        }
+        return c;
+    }
+
+    protected void unread(int c) {
+        pushback = c;
+    }
+
+    protected static Row error(long line, String message) {
+        return new Row(line, null, message);
+    }
+
+    /* ===================== NDJSON ===================== */
+
+    private static final class Ndjson extends BookImportReader {
+
+        private final ObjectReader reader;
+        private final StringBuilder buf = new StringBuilder(512);
+
+        Ndjson(InputStream in, ObjectReader reader) {
+            super(in);
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            while (true) {
+                buf.setLength(0);
+                boolean tooLong = false;
+
+                int c;
+                while ((c = read()) != -1 && c != '\n') {
+                    if (buf.length() < MAX_RECORD_LENGTH) {
+                        buf.append((char) c);
+                    } else {
+                        tooLong = true;
+                    }
+                }
+                if (c == -1 && buf.isEmpty()) return null;
+                line++;
+
+                if (tooLong) {
+                    return error(line, "행이 너무 깁니다. (최대 " + MAX_RECORD_LENGTH + "자)");
+                }
+                if (buf.toString().isBlank()) continue;
+
+                try {
+                    BookDto.CreateRequest request = reader.readValue(buf.toString());
+                    if (request == null) {
+                        return error(line, "JSON 형식이 올바르지 않습니다.");
+                    }
+                    return new Row(line, request, null);
+
+                } catch (JsonProcessingException e) {
+                    return error(line, "JSON 형식이 올바르지 않습니다.");
+                }
+            }
+        }
+    }
+
+    /* ===================== CSV ===================== */
+
+    private static final class Csv extends BookImportReader {
+
+        private final List<String> fields = new ArrayList<>(4);
+        private final StringBuilder field = new StringBuilder(512);
+
+        private final int titleColumn;
+        private final int descriptionColumn;
+        private final int columns;
+
+        // 현재 레코드 상태
+        private int length;
+        private boolean tooLong;
+        private boolean unclosedQuote;
+
+        Csv(InputStream in) throws IOException {
+            super(in);
+
+            List<String> header = readRecord() ? List.copyOf(fields) : List.of();
+
+            int title = -1, description = -1;
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+                switch (name) {
+                    case "title" -> title = i;
+                    case "description" -> description = i;
+                    default -> {
+                    }
+                }
+            }
+            if (title < 0 || description < 0) {
+                throw new ApiException(ErrorCode.INVALID_IMPORT_HEADER);
+            }
+
+            this.titleColumn = title;
+            this.descriptionColumn = description;
+            this.columns = header.size();
+        }
+
+        @Override
+        public Row next() throws IOException {
+            while (true) {
+                long start = line + 1;
+                if (!readRecord()) return null;
+
+                if (unclosedQuote) {
+                    return error(start, "따옴표가 닫히지 않았습니다.");
+                }
+                if (tooLong) {
+                    return error(start, "행이 너무 깁니다. (최대 " + MAX_RECORD_LENGTH + "자)");
+                }
+                // 빈 줄 무시
+                if (fields.size() == 1 && fields.get(0).isBlank()) continue;
+
+                if (fields.size() != columns) {
+                    return error(start, "열 개수가 헤더와 다릅니다.");
+                }
+
+                return new Row(start, new BookDto.CreateRequest(
+                        fields.get(titleColumn),
+                        fields.get(descriptionColumn)
+                ), null);
+            }
+        }
+
+        /**
+         * 레코드 하나를 fields 에 읽음 (따옴표 안의 쉼표/줄바꿈 허용, "" 는 " 로)
+         * 본문 끝이라 읽은 것이 없으면 false
+         */
+        private boolean readRecord() throws IOException {
+            fields.clear();
+            field.setLength(0);
+            length = 0;
+            tooLong = false;
+            unclosedQuote = false;
+
+            boolean quoted = false;
+            boolean any = false;
+
+            int c;
+            while ((c = read()) != -1) {
+                any = true;
+
+                if (quoted) {
+                    if (c == '"') {
+                        int n = read();
+                        if (n == '"') {
+                            append('"');
+                        } else {
+                            quoted = false;
+                            unread(n);
+                        }
+                    } else {
+                        if (c == '\n') line++;
+                        append((char) c);
+                    }
+                    continue;
+                }
+
+                switch (c) {
+                    case ',' -> {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    }
+                    case '\n' -> {
+                        line++;
+                        fields.add(field.toString());
+                        return true;
+                    }
+                    case '\r' -> {
+                        // CRLF 의 CR 은 무시
+                    }
+                    case '"' -> {
+                        if (field.isEmpty()) {
+                            quoted = true;
+                        } else {
+                            append('"');
+                        }
+                    }
+                    default -> append((char) c);
+                }
+            }
+
+            if (!any) return false;
+
+            // 마지막 줄에 줄바꿈이 없는 경우
+            line++;
+            unclosedQuote = quoted;
+            fields.add(field.toString());
+            return true;
+        }
+
+        private void append(char c) {
+            if (++length > MAX_RECORD_LENGTH) {
+                tooLong = true;
+                return;
+            }
+            field.append(c);
+        }
+    }
+}
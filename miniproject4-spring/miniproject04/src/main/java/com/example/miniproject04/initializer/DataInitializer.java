@@ -2,7 +2,10 @@ package com.example.miniproject04.initializer;
 
 import com.example.miniproject04.Entity.User;
 import com.example.miniproject04.repository.UserRepository;
+import com.example.miniproject04.service.PasswordHasher;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,7 +14,10 @@ import org.springframework.context.annotation.Configuration;
 @RequiredArgsConstructor
 public class DataInitializer {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
 
     @Bean
     public CommandLineRunner initData() {
@@ -23,19 +29,19 @@ public class DataInitializer {
                 User admin = new User(
                         null,          // userId (자동 생성)
                         "admin",       // loginId
-                        "admin1234"    // password
+                        passwordHasher.hash("admin1234")    // password (해시로 저장)
                 );
 
                 User guest = new User(
                         null,
                         "guest",
-                        "1234"
+                        passwordHasher.hash("1234")
                 );
 
                 userRepository.save(admin);
                 userRepository.save(guest);
 
-                System.out.println("✨ 초기 유저(admin, guest) 자동 생성 완료!");
+                log.info("✨ 초기 유저(admin, guest) 자동 생성 완료!");
             }
         };
     }
@@ -0,0 +1,104 @@
+package com.example.miniproject04.initializer;
+
+import com.example.miniproject04.dto.BookDto;
+import com.example.miniproject04.service.BookService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * 기동 직후 자주 쓰는 조회 API 를 미리 호출 (warmup.enabled=true 일 때만)
+ * - ApplicationRunner 라서 끝나야 readiness 가 ACCEPTING_TRAFFIC 으로 바뀜 (/actuator/health/readiness)
+ * - 실제 HTTP 로 호출 → 필터/Jackson/Tomcat/JPA/커넥션 풀까지 함께 JIT 컴파일·초기화
+ * - 조회 API 만 호출 (데이터 변경 없음)
+ * - AOT 실행에서는 @Conditional 이 빌드 시점에 고정되므로 조건부 빈 대신 실행 시점에 값 확인
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)   // DataInitializer 이후
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private final ApplicationContext context;
+    private final BookService bookService;
+    private final boolean enabled;
+    private final int rounds;
+
+    public WarmupRunner(ApplicationContext context,
+                        BookService bookService,
+                        @Value("${warmup.enabled:false}") boolean enabled,
+                        @Value("${warmup.rounds:100}") int rounds) {
+        this.context = context;
+        this.bookService = bookService;
+        this.enabled = enabled;
+        this.rounds = rounds;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+
+        if (!enabled || !(context instanceof WebServerApplicationContext web)) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        String base = "http://127.0.0.1:" + web.getWebServer().getPort() + "/api/v1";
+
+        // 책이 없으면 없는 id 로 호출 (404 경로도 같이 데움)
+        BookDto.Page first = bookService.findBookPage(null, 1);
+        long bookId = first.data().isEmpty() ? 1L : first.data().get(0).bookId();
+        String bookBody = "{\"book_id\":" + bookId + "}";
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        HttpRequest[] requests = {
+                get(base + "/books/list?limit=20"),                                 // 홈 화면 (목록 스냅샷)
+                get(base + "/books/list?after_book_id=" + bookId + "&limit=20"),   // 다음 페이지 (DB 조회)
+                post(base + "/books/check", bookBody),
+                get(base + "/books/" + bookId + "/full"),
+                post(base + "/image/check", bookBody),
+        };
+
+        long firstRoundMs = 0;
+        long lastRoundNanos = 0;
+
+        for (int i = 0; i < rounds; i++) {
+            long roundStarted = System.nanoTime();
+            for (HttpRequest request : requests) {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+            lastRoundNanos = System.nanoTime() - roundStarted;
+            if (i == 0) firstRoundMs = lastRoundNanos / 1_000_000;
+        }
+
+        log.info("🔥 워밍업 완료: {}회 x {}개 API, {}ms (1회차 {}ms → 마지막 {}us)",
+                rounds, requests.length, (System.nanoTime() - started) / 1_000_000,
+                firstRoundMs, lastRoundNanos / 1_000);
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
@@ -1,9 +1,80 @@
 package com.example.miniproject04.repository;
 
 import com.example.miniproject04.Entity.Book;
+import com.example.miniproject04.dto.BookDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
-}
\ No newline at end of file
+
+    String SUMMARY_SELECT = "select new com.example.miniproject04.dto.BookDto$Summary("
+            + "b.bookId, b.title, substring(b.description, 1, " + BookDto.Summary.DESCRIPTION_LENGTH + ")) "
+            + "from Book b ";
+
+    String FULL_SELECT = "select new com.example.miniproject04.dto.BookDto$Full("
+            + "b.bookId, b.title, b.description, b.user.userId, b.version, i.imageUrl) "
+            + "from Book b left join GeneratedImage i on i.book = b ";
+
+    int EXPORT_FETCH_SIZE = 500;
+
+    // 첫 페이지 (bookId DESC)
+    @Query(SUMMARY_SELECT + "order by b.bookId desc")
+    List<BookDto.Summary> findSummaries(Pageable pageable);
+
+    // after_book_id 이후 페이지 (bookId < after_book_id)
+    @Query(SUMMARY_SELECT + "where b.bookId < :afterBookId order by b.bookId desc")
+    List<BookDto.Summary> findSummariesAfter(@Param("afterBookId") Long afterBookId, Pageable pageable);
+
+    // 검색 재색인용 (bookId ASC, 전체 description)
+    @Query("select new com.example.miniproject04.dto.BookDto$Detail("
+            + "b.bookId, b.title, b.description, b.user.userId, b.version) "
+            + "from Book b where b.bookId > :afterBookId order by b.bookId asc")
+    List<BookDto.Detail> findDetailsAfter(@Param("afterBookId") Long afterBookId, Pageable pageable);
+
+    // 상세 페이지: 책 + 작성자 id + 표지 URL 을 한 번에 (generated_image left join)
+    @Query(FULL_SELECT + "where b.bookId = :bookId")
+    Optional<BookDto.Full> findFullById(@Param("bookId") Long bookId);
+
+    // 전체 내보내기: bookId ASC 구간을 스트림으로 (드라이버가 fetch size 단위로 나눠 읽음)
+    // 반드시 트랜잭션 안에서 소비하고 close
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query(FULL_SELECT + "where b.bookId > :afterBookId order by b.bookId asc")
+    Stream<BookDto.Full> streamFullAfter(@Param("afterBookId") Long afterBookId, Pageable pageable);
+
+    // 작성자 조건부 수정: null 인 항목은 유지, version 이 있으면 일치할 때만
+    // 0 이면 없는 책 / 권한 없음 / 버전 충돌 (findOwnership 으로 구분)
+    @Modifying
+    @Query("update Book b set "
+            + "b.title = coalesce(:title, b.title), "
+            + "b.description = coalesce(:description, b.description), "
+            + "b.version = b.version + 1 "
+            + "where b.bookId = :bookId and b.user.userId = :userId "
+            + "and (:version is null or b.version = :version)")
+    int updateOwned(@Param("bookId") Long bookId,
+                    @Param("userId") Long userId,
+                    @Param("version") Long version,
+                    @Param("title") String title,
+                    @Param("description") String description);
+
+    // 작성자 조건부 삭제 (0 이면 없는 책 / 권한 없음)
+    @Modifying
+    @Query("delete from Book b where b.bookId = :bookId and b.user.userId = :userId")
+    int deleteOwned(@Param("bookId") Long bookId, @Param("userId") Long userId);
+
+    // 조건부 수정/삭제가 0건일 때 원인 확인용
+    @Query("select new com.example.miniproject04.dto.BookDto$Ownership(b.user.userId, b.version) "
+            + "from Book b where b.bookId = :bookId")
+    Optional<BookDto.Ownership> findOwnership(@Param("bookId") Long bookId);
+}
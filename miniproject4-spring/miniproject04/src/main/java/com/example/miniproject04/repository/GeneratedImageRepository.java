@@ -1,11 +1,56 @@
 package com.example.miniproject04.repository;
 
-import com.example.miniproject04.Entity.Book;
 import com.example.miniproject04.Entity.GeneratedImage;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface GeneratedImageRepository extends JpaRepository<GeneratedImage, Long> {
-    GeneratedImage findByBook(Book book);
-}
\ No newline at end of file
+
+    // book_id FK 로 바로 조회 (Book 로딩 불필요)
+    Optional<GeneratedImage> findByBookBookId(Long bookId);
+
+    // 이미지 수정: Book 을 fetch join 으로 함께 조회 (권한 확인)
+    // 행 잠금 → 동시에 수정해도 작업 세대가 순서대로 하나씩 증가
+    @EntityGraph(attributePaths = "book")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<GeneratedImage> findWithBookByBookBookId(Long bookId);
+
+    // 다운로드 완료: 워커의 작업 세대가 현재 세대일 때만 반영 (이전 작업이면 0)
+    @Modifying(flushAutomatically = true)
+    @Query("update GeneratedImage i set i.imageUrl = :imageUrl, i.contentHash = :contentHash, "
+            + "i.status = com.example.miniproject04.Entity.ImageStatus.READY "
+            + "where i.imgId = :imgId and i.generation = :generation")
+    int completeJob(@Param("imgId") Long imgId, @Param("generation") long generation,
+                    @Param("contentHash") String contentHash, @Param("imageUrl") String imageUrl);
+
+    // 다운로드 실패: 현재 세대의 대기 중인 작업일 때만 반영 (READY 이미지를 FAILED 로 바꾸지 않음)
+    @Modifying(flushAutomatically = true)
+    @Query("update GeneratedImage i set i.status = com.example.miniproject04.Entity.ImageStatus.FAILED "
+            + "where i.imgId = :imgId and i.generation = :generation "
+            + "and i.status = com.example.miniproject04.Entity.ImageStatus.PENDING")
+    int failJob(@Param("imgId") Long imgId, @Param("generation") long generation);
+
+    // 책 삭제 전: 작성자 본인 책의 이미지만 조회 (Book 은 조건에만 사용, 로딩 없음)
+    @Query("select i from GeneratedImage i where i.book.bookId = :bookId and i.book.user.userId = :userId")
+    Optional<GeneratedImage> findOwnedByBookId(@Param("bookId") Long bookId, @Param("userId") Long userId);
+
+    // 바로 실행되는 단건 삭제 (이어지는 book 벌크 삭제보다 먼저 반영되도록)
+    @Modifying
+    @Query("delete from GeneratedImage i where i.imgId = :imgId")
+    int deleteByImgId(@Param("imgId") Long imgId);
+
+    // 파일 정리 전 참조 확인: 내용 주소 저장 이전 행이 가리키는 경로 (image_url 인덱스)
+    @Query("select i.imageUrl from GeneratedImage i where i.imageUrl in :urls")
+    List<String> findImageUrlsIn(@Param("urls") Collection<String> urls);
+}
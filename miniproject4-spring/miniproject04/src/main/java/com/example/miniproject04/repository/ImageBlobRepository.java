@@ -0,0 +1,36 @@
+package com.example.miniproject04.repository;
+
+import com.example.miniproject04.Entity.ImageBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+
+    // 벌크 쿼리는 image_blob 만 변경하므로 영속성 컨텍스트는 비우지 않음
+    // (비우면 같은 트랜잭션의 Book/GeneratedImage 가 detach 되어 삭제 시 재조회)
+
+    // 참조 수 증가 (DB 에서 원자적으로 처리, 대상 행이 없으면 0)
+    @Modifying(flushAutomatically = true)
+    @Query("update ImageBlob b set b.refCount = b.refCount + 1 where b.digest = :digest")
+    int increment(@Param("digest") String digest);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update ImageBlob b set b.refCount = b.refCount - 1 where b.digest = :digest and b.refCount > 0")
+    int decrement(@Param("digest") String digest);
+
+    // 더 이상 참조가 없으면 행 삭제 (삭제된 경우 1)
+    @Modifying(flushAutomatically = true)
+    @Query("delete from ImageBlob b where b.digest = :digest and b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("digest") String digest);
+
+    // 파일 정리 전 참조 확인: 아직 남아 있는 blob 의 저장 key (digest 는 PK)
+    @Query("select b.storeKey from ImageBlob b where b.digest in :digests")
+    List<String> findStoreKeysByDigestIn(@Param("digests") Collection<String> digests);
+}
@@ -0,0 +1,345 @@
+package com.example.miniproject04.search;
+
+import com.example.miniproject04.dto.BookDto;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.cjk.CJKBigramFilter;
+import org.apache.lucene.analysis.cjk.CJKWidthFilter;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 책 제목/내용 역색인 (Lucene)
+ * - 한글은 1글자 + 2글자(bigram) 단위, 영문은 단어 단위 소문자로 색인
+ * - 검색어는 단어마다 bigram 으로 나누고(한 글자 단어는 그대로), 끝에 조사가 붙은 단어는
+ *   "그대로" 또는 "조사를 뗀 형태" 중 하나와 일치하면 됨
+ * - 모든 단어가 (제목+내용)에 있는 책만, BM25 점수순
+ *   제목은 색인 시 반복해 넣어 가중치를 줌 → 검색은 단일 필드 TermQuery 교집합만으로 처리
+ *   (블록 최대 점수 기반 건너뛰기가 적용되어 큰 색인에서도 빠름)
+ * - 변경은 바로 IndexWriter 에 반영하고, 검색 결과에는 refresh 주기 안에 보임
+ * - 열 때 commit user data 에 "정상 종료 아님" 을 기록하고 close 할 때만 "정상 종료" 로 바꿈
+ *   → commit 주기 사이에 비정상 종료되어 변경이 사라졌으면 다음 기동 때 알 수 있음
+ */
+public class BookSearchIndex implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String ALL = "all";          // 제목 + 내용 (검색 대상)
+    private static final String SUMMARY = "summary";
+
+    // commit user data: 직전 세션이 close 로 끝났는지
+    private static final String CLEAN_SHUTDOWN = "clean_shutdown";
+
+    private static final Set<String> STORED_FIELDS = Set.of(ID, TITLE, SUMMARY);
+    // 제목을 all 필드에 몇 번 넣을지 (제목 일치 가중치, BM25 tf 로 반영)
+    private static final int TITLE_WEIGHT = 2;
+
+    // 검색어 끝에서 떼어낼 조사 (긴 것부터)
+    private static final List<String> PARTICLES = List.of(
+            "에서", "으로", "부터", "까지", "에게", "처럼", "보다",
+            "을", "를", "이", "가", "은", "는", "의", "에", "로", "와", "과", "도", "만");
+
+    private final Analyzer indexAnalyzer = cjkAnalyzer(true);
+    private final Analyzer queryAnalyzer = cjkAnalyzer(false);
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ScheduledExecutorService refresher;
+    private final boolean closedCleanly;
+
+    // false 면 close 해도 정상 종료로 기록하지 않음 (재색인 중, 색인 갱신 실패)
+    private volatile boolean consistent = true;
+
+    /**
+     * @param refreshMillis 변경 사항이 검색에 보이기까지 최대 지연
+     * @param commitMillis  디스크 commit 주기 (그 사이 비정상 종료 시 기동할 때 재색인)
+     */
+    public BookSearchIndex(Directory directory, long refreshMillis, long commitMillis) throws IOException {
+        this.directory = directory;
+        boolean existed = DirectoryReader.indexExists(directory);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(indexAnalyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.closedCleanly = !existed || "true".equals(commitData().get(CLEAN_SHUTDOWN));
+
+        // 이번 세션이 close 전에 끝나면 다음 기동 때 closedCleanly() == false
+        writer.setLiveCommitData(Map.of(CLEAN_SHUTDOWN, "false").entrySet());
+        writer.commit();
+        this.searcherManager = new SearcherManager(writer, null);
+
+        this.refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "book-search-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        refresher.scheduleWithFixedDelay(this::commitQuietly, commitMillis, commitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 추가/수정 (같은 id 문서는 교체)
+     */
+    public void index(long bookId, String title, String description) throws IOException {
+
+        String id = Long.toString(bookId);
+        String desc = (description == null) ? "" : description;
+
+        Document doc = new Document();
+        doc.add(new StringField(ID, id, Field.Store.YES));
+        String t = (title == null) ? "" : title;
+
+        doc.add(new StoredField(TITLE, t));
+        doc.add(new TextField(ALL, (t + "\n").repeat(TITLE_WEIGHT) + desc, Field.Store.NO));
+        // 검색 결과에 바로 내려줄 요약 (목록과 같은 길이)
+        doc.add(new StoredField(SUMMARY, desc.length() <= BookDto.Summary.DESCRIPTION_LENGTH
+                ? desc : desc.substring(0, BookDto.Summary.DESCRIPTION_LENGTH)));
+
+        writer.updateDocument(new Term(ID, id), doc);
+    }
+
+    public void remove(long bookId) throws IOException {
+        writer.deleteDocuments(new Term(ID, Long.toString(bookId)));
+    }
+
+    /**
+     * 색인된 문서 수 (마지막 refresh 기준)
+     */
+    public int size() throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * 색인된 모든 bookId (마지막 refresh 기준, 재색인 후 DB 에 없는 문서 정리용)
+     */
+    public Set<Long> ids() throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            Set<Long> ids = new HashSet<>(searcher.getIndexReader().numDocs());
+            Set<String> idField = Set.of(ID);
+            for (LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+                Bits live = leaf.reader().getLiveDocs();
+                StoredFields stored = leaf.reader().storedFields();
+                for (int doc = 0; doc < leaf.reader().maxDoc(); doc++) {
+                    if (live != null && !live.get(doc)) continue;
+                    ids.add(Long.valueOf(stored.document(doc, idField).get(ID)));
+                }
+            }
+            return ids;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * 검색어의 모든 단어를 포함하는 책을 점수순으로 조회
+     * offset 부터 limit 건 (결과가 더 있는지 보려면 limit + 1 로 호출)
+     */
+    public List<BookDto.Summary> search(String text, int offset, int limit) throws IOException {
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        int words = 0;
+        for (String word : text.trim().split("\\s+")) {
+            Query wordQuery = wordQuery(word);
+            if (wordQuery != null) {
+                query.add(wordQuery, BooleanClause.Occur.MUST);
+                words++;
+            }
+        }
+        if (words == 0) return List.of();
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(query.build(), offset + limit);
+            StoredFields stored = searcher.storedFields();
+
+            List<BookDto.Summary> result = new ArrayList<>(Math.max(0, top.scoreDocs.length - offset));
+            for (int i = offset; i < top.scoreDocs.length; i++) {
+                ScoreDoc hit = top.scoreDocs[i];
+                Document doc = stored.document(hit.doc, STORED_FIELDS);
+                result.add(new BookDto.Summary(
+                        Long.valueOf(doc.get(ID)), doc.get(TITLE), doc.get(SUMMARY)));
+            }
+            return result;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * 직전 세션이 close 로 정상 종료했으면 true (새 색인도 true, 이때는 문서 수 비교로 판단)
+     * false 면 commit 되지 않은 변경이 사라졌을 수 있음
+     */
+    public boolean closedCleanly() {
+        return closedCleanly;
+    }
+
+    /**
+     * false 로 두면 close 해도 다음 기동 때 closedCleanly() == false (재색인 완료 후 true)
+     */
+    public void setConsistent(boolean consistent) {
+        this.consistent = consistent;
+    }
+
+    /**
+     * 변경 사항을 즉시 검색에 반영 (재색인 직후, 테스트 등)
+     */
+    public void refresh() throws IOException {
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    @Override
+    public void close() throws IOException {
+        refresher.shutdownNow();
+        searcherManager.close();
+        writer.setLiveCommitData(Map.of(CLEAN_SHUTDOWN, String.valueOf(consistent)).entrySet());
+        writer.close();   // commit 포함
+        directory.close();
+        indexAnalyzer.close();
+        queryAnalyzer.close();
+    }
+
+    /**
+     * StandardTokenizer → 전각/반각 정규화 → 소문자 → 한중일 bigram → 영어 불용어 제거
+     * outputUnigrams: 색인에는 한 글자도 넣어 한 글자 검색어("섬")도 찾을 수 있게 함
+     */
+    private static Analyzer cjkAnalyzer(boolean outputUnigrams) {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer source = new StandardTokenizer();
+                TokenStream result = new CJKWidthFilter(source);
+                result = new LowerCaseFilter(result);
+                result = new CJKBigramFilter(result, CJKBigramFilter.HAN | CJKBigramFilter.HIRAGANA
+                        | CJKBigramFilter.KATAKANA | CJKBigramFilter.HANGUL, outputUnigrams);
+                result = new StopFilter(result, EnglishAnalyzer.ENGLISH_STOP_WORDS_SET);
+                return new TokenStreamComponents(source, result);
+            }
+        };
+    }
+
+    // 단어 하나: 그대로 또는 조사를 뗀 형태 (불용어만 있으면 null)
+    private Query wordQuery(String word) throws IOException {
+
+        Query exact = allTerms(analyze(word));
+        String stem = stripParticle(word);
+        if (stem.equals(word)) return exact;
+
+        Query stemmed = allTerms(analyze(stem));
+        if (exact == null) return stemmed;
+        if (stemmed == null) return exact;
+
+        // 둘 다 맞으면 점수가 더해져 그대로 일치한 책이 위로
+        return new BooleanQuery.Builder()
+                .add(exact, BooleanClause.Occur.SHOULD)
+                .add(stemmed, BooleanClause.Occur.SHOULD)
+                .build();
+    }
+
+    // 토큰마다 필수
+    private static Query allTerms(List<String> terms) {
+        if (terms.isEmpty()) return null;
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            query.add(new TermQuery(new Term(ALL, term)), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    // 검색어 토큰화 (중복 제거)
+    private List<String> analyze(String text) throws IOException {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream stream = queryAnalyzer.tokenStream(ALL, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        }
+        return new ArrayList<>(terms);
+    }
+
+    // "자바를" → "자바", "Boot로" → "Boot" (조사까지 bigram 으로 요구하면 본문과 안 맞음)
+    static String stripParticle(String word) {
+        for (String particle : PARTICLES) {
+            if (word.length() > particle.length() && word.endsWith(particle)
+                    && Character.isLetterOrDigit(word.codePointBefore(word.length() - particle.length()))) {
+                return word.substring(0, word.length() - particle.length());
+            }
+        }
+        return word;
+    }
+
+    private void refreshQuietly() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("검색 색인 refresh 실패", e);
+        }
+    }
+
+    private Map<String, String> commitData() {
+        Map<String, String> data = new HashMap<>();
+        Iterable<Map.Entry<String, String>> live = writer.getLiveCommitData();
+        if (live != null) {
+            live.forEach(e -> data.put(e.getKey(), e.getValue()));
+        }
+        return data;
+    }
+
+    private void commitQuietly() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.warn("검색 색인 commit 실패", e);
+        }
+    }
+}
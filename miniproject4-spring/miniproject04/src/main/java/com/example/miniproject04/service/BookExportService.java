@@ -0,0 +1,237 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.dto.BookDto;
+import com.example.miniproject04.exception.ApiException;
+import com.example.miniproject04.exception.ErrorCode;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 책 전체 내보내기 (GET /api/v1/books/export)
+ * - bookId 순 CHUNK_SIZE 건 구간마다 스트림 조회 → 한 행씩 바로 출력 (메모리 사용량 일정)
+ * - 열: book_id, user_id, title, description, image_url (CSV 는 그대로 /import 에 다시 넣을 수 있음)
+ * - 전송은 내보내기 전용 풀 + export.timeout (다른 MVC 비동기 요청의 풀/타임아웃은 그대로)
+ */
+@Service
+public class BookExportService {
+
+    public enum Format {
+        NDJSON("ndjson"), CSV("csv");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    // 트랜잭션 하나에서 읽을 행 수
+    private static final int CHUNK_SIZE = 5000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BookService bookService;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor bookExportExecutor;
+    private final Duration timeout;
+
+    public BookExportService(
+            BookService bookService,
+            ObjectMapper objectMapper,
+            @Qualifier("bookExportExecutor") AsyncTaskExecutor bookExportExecutor,
+            @Value("${export.timeout:1h}") Duration timeout) {
+
+        this.bookService = bookService;
+        this.objectMapper = objectMapper;
+        // 큐가 가득 차면 EXPORT_BUSY (503), 비동기 시작 직후 MVC 가 예외 결과로 디스패치
+        this.bookExportExecutor = task -> {
+            try {
+                bookExportExecutor.execute(task);
+            } catch (TaskRejectedException e) {
+                throw new ApiException(ErrorCode.EXPORT_BUSY);
+            }
+        };
+        this.timeout = timeout;
+    }
+
+    /**
+     * 내보내기 풀에서 실행할 비동기 작업 (컨트롤러가 그대로 반환)
+     * out: 작업 스레드에서 열 응답 스트림 (비동기 시작 후에만 씀)
+     */
+    public WebAsyncTask<Void> exportTask(Callable<OutputStream> out, Format format, boolean gzip, String imageBaseUrl) {
+        return new WebAsyncTask<>(timeout.toMillis(), bookExportExecutor, () -> {
+            export(out.call(), format, gzip, imageBaseUrl);
+            return null;
+        });
+    }
+
+    /**
+     * imageBaseUrl: 표지 경로(/images/..) 앞에 붙일 주소
+     */
+    public void export(OutputStream out, Format format, boolean gzip, String imageBaseUrl) throws IOException {
+
+        OutputStream target = gzip
+                ? new GZIPOutputStream(out, BUFFER_SIZE)
+                : new BufferedOutputStream(out, BUFFER_SIZE);
+
+        RowWriter writer = (format == Format.CSV)
+                ? new CsvRowWriter(target, imageBaseUrl)
+                : new NdjsonRowWriter(objectMapper.getFactory().createGenerator(target, JsonEncoding.UTF8), imageBaseUrl);
+
+        try {
+            Long after = 0L;
+            while ((after = bookService.exportBooks(after, CHUNK_SIZE, writer)) != null) {
+                // 다음 구간
+            }
+        } catch (UncheckedIOException e) {
+            // 클라이언트 연결 끊김 등 쓰기 실패
+            throw e.getCause();
+        }
+
+        writer.finish();
+        if (target instanceof GZIPOutputStream gz) {
+            gz.finish();
+        }
+        target.flush();
+    }
+
+    /* ===================== 행 출력 ===================== */
+
+    private abstract static class RowWriter implements Consumer<BookDto.Full> {
+
+        private final String imageBaseUrl;
+
+        RowWriter(String imageBaseUrl) {
+            this.imageBaseUrl = imageBaseUrl;
+        }
+
+        @Override
+        public void accept(BookDto.Full row) {
+            try {
+                write(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        String imageUrl(BookDto.Full row) {
+            return row.imageUrl() == null ? null : imageBaseUrl + row.imageUrl();
+        }
+
+        abstract void write(BookDto.Full row) throws IOException;
+
+        abstract void finish() throws IOException;
+    }
+
+    private static final SerializedString BOOK_ID = new SerializedString("book_id");
+    private static final SerializedString USER_ID = new SerializedString("user_id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString IMAGE_URL = new SerializedString("image_url");
+
+    // 한 줄에 JSON 객체 하나
+    private static final class NdjsonRowWriter extends RowWriter {
+
+        private final JsonGenerator gen;
+
+        NdjsonRowWriter(JsonGenerator gen, String imageBaseUrl) {
+            super(imageBaseUrl);
+            this.gen = gen;
+            gen.setRootValueSeparator(null);
+        }
+
+        @Override
+        void write(BookDto.Full row) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(BOOK_ID);
+            gen.writeNumber(row.bookId());
+            gen.writeFieldName(USER_ID);
+            gen.writeNumber(row.ownerId());
+            gen.writeFieldName(TITLE);
+            gen.writeString(row.title());
+            gen.writeFieldName(DESCRIPTION);
+            gen.writeString(row.description());
+            gen.writeFieldName(IMAGE_URL);
+            gen.writeString(imageUrl(row));
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            gen.flush();
+        }
+    }
+
+    // RFC 4180 (쉼표/따옴표/줄바꿈이 있으면 따옴표로 감싸고 " 는 "")
+    private static final class CsvRowWriter extends RowWriter {
+
+        private final Writer out;
+
+        CsvRowWriter(OutputStream out, String imageBaseUrl) throws IOException {
+            super(imageBaseUrl);
+            this.out = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            this.out.write("book_id,user_id,title,description,image_url\r\n");
+        }
+
+        @Override
+        void write(BookDto.Full row) throws IOException {
+            out.write(Long.toString(row.bookId()));
+            out.write(',');
+            out.write(Long.toString(row.ownerId()));
+            out.write(',');
+            field(row.title());
+            out.write(',');
+            field(row.description());
+            out.write(',');
+            field(imageUrl(row));
+            out.write("\r\n");
+        }
+
+        private void field(String value) throws IOException {
+            if (value == null) return;
+
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = (c == ',' || c == '"' || c == '\n' || c == '\r');
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+
+        @Override
+        void finish() throws IOException {
+            out.flush();
+        }
+    }
+}
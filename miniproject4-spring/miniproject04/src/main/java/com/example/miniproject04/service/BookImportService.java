@@ -0,0 +1,164 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.dto.BookDto;
+import com.example.miniproject04.exception.ApiException;
+import com.example.miniproject04.exception.ErrorCode;
+import com.example.miniproject04.importer.BookImportReader;
+import com.example.miniproject04.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 책 일괄 등록 (POST /api/v1/books/import)
+ * - 요청 본문을 한 행씩 읽어 검증, BATCH_SIZE 건마다 한 트랜잭션으로 저장
+ * - 작성자는 모든 행이 로그인 사용자 (시작 시 한 번 확인), 저장은 JDBC 배치 INSERT
+ * - 잘못된 행은 건너뛰고 줄 번호와 사유를 기록 (앞의 MAX_ERRORS 건만 응답에 포함)
+ * - 진행 상황: book.import.rows{result=imported|failed} 카운터
+ */
+@Service
+public class BookImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookImportService.class);
+
+    public enum Format { NDJSON, CSV }
+
+    // 트랜잭션 하나에 담을 행 수 (hibernate.jdbc.batch_size 의 배수)
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_ERRORS = 100;
+
+    private static final int TITLE_LENGTH = 255;
+    private static final int DESCRIPTION_LENGTH = 2000;
+
+    private final BookService bookService;
+    private final UserRepository userRepository;
+    private final ObjectReader rowReader;
+
+    private final Counter importedRows;
+    private final Counter failedRows;
+
+    public BookImportService(
+            BookService bookService,
+            UserRepository userRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+
+        this.bookService = bookService;
+        this.userRepository = userRepository;
+        this.rowReader = objectMapper.readerFor(BookDto.CreateRequest.class);
+
+        this.importedRows = Counter.builder("book.import.rows")
+                .description("일괄 등록으로 저장된 행")
+                .tag("result", "imported")
+                .register(meterRegistry);
+        this.failedRows = Counter.builder("book.import.rows")
+                .description("일괄 등록에서 건너뛴 행 (형식/검증 오류, 저장 실패)")
+                .tag("result", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 없는 사용자(토큰 발급 후 탈퇴 등)면 ApiException(USER_NOT_FOUND), 본문은 읽지 않음
+     */
+    public BookDto.ImportResult importBooks(InputStream body, Format format, Long userId) throws IOException {
+
+        if (!userRepository.existsById(userId)) {
+            throw new ApiException(ErrorCode.USER_NOT_FOUND);
+        }
+
+        BookImportReader reader = (format == Format.CSV)
+                ? BookImportReader.csv(body)
+                : BookImportReader.ndjson(body, rowReader);
+
+        Progress progress = new Progress();
+        List<BookImportReader.Row> batch = new ArrayList<>(BATCH_SIZE);
+
+        BookImportReader.Row row;
+        while ((row = reader.next()) != null) {
+
+            String error = (row.error() != null) ? row.error() : validate(row.request());
+            if (error != null) {
+                progress.fail(row.line(), error);
+                continue;
+            }
+
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                save(userId, batch, progress);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            save(userId, batch, progress);
+        }
+
+        return progress.result();
+    }
+
+    private static String validate(BookDto.CreateRequest request) {
+
+        if (request.title() == null || request.title().trim().isEmpty() ||
+                request.description() == null || request.description().trim().isEmpty()) {
+            return "제목과 내용을 다시 확인";
+        }
+        if (request.title().length() > TITLE_LENGTH || request.description().length() > DESCRIPTION_LENGTH) {
+            return "제목은 " + TITLE_LENGTH + "자, 내용은 " + DESCRIPTION_LENGTH + "자 이하로 입력해주세요.";
+        }
+        return null;
+    }
+
+    private void save(Long userId, List<BookImportReader.Row> batch, Progress progress) {
+
+        List<BookDto.CreateRequest> rows = new ArrayList<>(batch.size());
+        for (BookImportReader.Row row : batch) {
+            rows.add(row.request());
+        }
+
+        try {
+            bookService.importBooks(userId, rows);
+            progress.imported(rows.size());
+
+        } catch (DataAccessException e) {
+            // 배치 하나가 실패해도 이미 커밋된 배치는 유지하고 다음 배치 계속
+            log.error("책 일괄 등록 배치 저장 실패 ({}건)", batch.size(), e);
+            for (BookImportReader.Row row : batch) {
+                progress.fail(row.line(), "저장 실패");
+            }
+        }
+    }
+
+    // 행 수만 세고 오류는 앞의 MAX_ERRORS 건만 보관
+    private final class Progress {
+
+        private long imported;
+        private long failed;
+        private final List<BookDto.ImportError> errors = new ArrayList<>();
+
+        void imported(int count) {
+            imported += count;
+            importedRows.increment(count);
+        }
+
+        void fail(long line, String message) {
+            failed++;
+            failedRows.increment();
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(new BookDto.ImportError(line, message));
+            }
+        }
+
+        BookDto.ImportResult result() {
+            return new BookDto.ImportResult(imported, failed, errors);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.dto.BookDto;
+import com.example.miniproject04.repository.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 홈 화면 책 목록 (GET /api/v1/books/list?limit=page-size) 앞쪽 pages 페이지의 응답 바이트 캐시
+ * - 페이지마다 JSON / gzip 바이트와 ETag 를 미리 만들어 둠 (적중 시 DB 조회, 직렬화 없이 바로 씀)
+ * - 책 변경 커밋 후 세대(generation)를 올려 이전 스냅샷을 무효화,
+ *   별도 스레드가 쿼리 한 번으로 새 스냅샷을 만들어 교체 (읽는 쪽은 잠금 없이 volatile 읽기만)
+ * - 재구성 중에는 DB 조회로 응답 (변경 직후에도 옛 목록을 내보내지 않음)
+ * - 목록 ETag 는 본문 해시 대신 version() (기동 시각 + 세대) → 304 판단에 조회/직렬화가 필요 없음
+ * - 적중률: book.list.snapshot{result=hit|miss} 카운터 (/actuator/metrics)
+ */
+@Component
+public class BookListSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(BookListSnapshot.class);
+
+    /**
+     * 미리 만든 응답 한 페이지
+     */
+    public record Entry(byte[] json, byte[] gzip, String version) {
+    }
+
+    private record Snapshot(long generation, Map<Long, Entry> pages) {
+    }
+
+    // 첫 페이지 (after_book_id 없음) 키
+    private static final long FIRST_PAGE = 0L;
+
+    private final BookRepository bookRepository;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+    private final int pages;
+
+    private final AtomicLong generation = new AtomicLong();
+    // 재시작하면 세대가 0 부터 다시 세어지므로 이전 프로세스의 버전과 겹치지 않게 붙임
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+    private final ExecutorService rebuilder;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public BookListSnapshot(
+            BookRepository bookRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${book.list-cache.page-size:20}") int pageSize,
+            @Value("${book.list-cache.pages:5}") int pages) {
+
+        this.bookRepository = bookRepository;
+        this.objectMapper = objectMapper;
+        this.pageSize = pageSize;
+        this.pages = pages;
+
+        this.rebuilder = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "book-list-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.hits = Counter.builder("book.list.snapshot")
+                .description("미리 만든 목록 응답으로 처리한 요청")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("book.list.snapshot")
+                .description("DB 조회로 처리한 목록 요청 (재구성 중이거나 범위 밖 페이지)")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 현재 목록 버전 (책 추가/수정/삭제 커밋마다 바뀜)
+     * 목록을 조회하기 전에 읽어야 조회 중 커밋된 변경이 다음 요청에서 새 버전으로 보임
+     */
+    public String version() {
+        return version(generation.get());
+    }
+
+    private String version(long generation) {
+        return epoch + "-" + generation;
+    }
+
+    /**
+     * 캐시된 페이지 (없으면 null → 호출 측에서 DB 조회)
+     * afterBookId 가 null 이면 첫 페이지
+     */
+    public Entry find(Long afterBookId, int limit) {
+
+        if (limit != pageSize || pages <= 0) return null;
+
+        Snapshot current = snapshot;
+        if (current == null || current.generation() != generation.get()) {
+            misses.increment();
+            scheduleRebuild();
+            return null;
+        }
+
+        Entry entry = current.pages().get(afterBookId == null ? FIRST_PAGE : afterBookId);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry;
+    }
+
+    /**
+     * 책 추가/수정/삭제 커밋 후 스냅샷 무효화 (트랜잭션 밖이면 바로)
+     */
+    public void invalidateAfterCommit() {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        scheduleRebuild();
+    }
+
+    // 재구성 요청이 몰려도 대기 중인 작업은 하나만
+    private void scheduleRebuild() {
+        if (pages > 0 && rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+
+        rebuildPending.set(false);
+
+        // 조회 전에 세대를 읽어 둠 (조회 중 커밋된 변경이 있으면 이 스냅샷은 쓰이지 않고 다시 재구성)
+        long target = generation.get();
+
+        try {
+            List<BookDto.Summary> rows = bookRepository.findSummaries(PageRequest.of(0, pageSize * pages + 1));
+
+            Map<Long, Entry> built = new HashMap<>();
+            long cursor = FIRST_PAGE;
+
+            for (int i = 0; i < pages; i++) {
+                int from = i * pageSize;
+                if (i > 0 && from >= rows.size()) break;
+
+                int to = Math.min(from + pageSize, rows.size());
+                List<BookDto.Summary> data = rows.subList(from, to);
+                Long next = rows.size() > to ? data.get(data.size() - 1).bookId() : null;
+
+                built.put(cursor, entry(new BookDto.Page(data, next), version(target)));
+                if (next == null) break;
+                cursor = next;
+            }
+
+            snapshot = new Snapshot(target, Collections.unmodifiableMap(built));
+
+        } catch (Exception e) {
+            // 다음 요청 때 다시 시도
+            log.warn("책 목록 캐시 재구성 실패", e);
+        }
+    }
+
+    private Entry entry(BookDto.Page page, String version) throws IOException {
+
+        byte[] json = objectMapper.writeValueAsBytes(page);
+
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gz = new GZIPOutputStream(buf)) {
+            gz.write(json);
+        }
+
+        return new Entry(json, buf.toByteArray(), version);
+    }
+
+    @PreDestroy
+    public void close() {
+        rebuilder.shutdownNow();
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.dto.BookDto;
+import com.example.miniproject04.repository.BookRepository;
+import com.example.miniproject04.search.BookSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 책 검색 (GET /api/v1/books/search)
+ * - 색인은 BookService 의 생성/수정/삭제가 커밋된 뒤에 갱신 (롤백된 변경은 색인되지 않음)
+ * - 기동 시 직전 세션이 정상 종료되지 않았거나(commit 전 변경 유실 가능) 색인 문서 수가 책 수와 다르면
+ *   백그라운드로 전체 재색인
+ *   (기존 색인을 비우지 않고 문서를 교체하므로 재색인 중에도 검색 가능)
+ */
+@Service
+@RequiredArgsConstructor
+public class BookSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchService.class);
+
+    // 점수순 결과는 앞에서부터 세어야 하므로 깊은 페이지는 막음
+    private static final int MAX_RESULT_WINDOW = 1000;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private final BookSearchIndex bookSearchIndex;
+    private final BookRepository bookRepository;
+
+    // 재색인 중 커밋된 생성/수정/삭제의 bookId
+    // 재색인이 먼저 읽어 둔 (이전) 행으로 다시 색인하지 않도록 건너뜀, 확인과 색인은 rebuildLock 안에서
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Object rebuildLock = new Object();
+    private volatile boolean rebuilding;
+
+    /**
+     * page 는 0 부터, size 건 조회
+     */
+    public BookDto.SearchPage search(String query, int page, int size) {
+
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("검색어를 입력해주세요.");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("검색어는 " + MAX_QUERY_LENGTH + "자 이하로 입력해주세요.");
+        }
+
+        int offset = page * size;
+        if (page < 0 || offset + size > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("검색 결과는 앞의 " + MAX_RESULT_WINDOW + "건까지만 조회할 수 있습니다.");
+        }
+
+        try {
+            // size + 1 건을 읽어 다음 페이지 존재 여부 판단
+            List<BookDto.Summary> rows = bookSearchIndex.search(query, offset, size + 1);
+
+            if (rows.size() <= size) {
+                return new BookDto.SearchPage(rows, null);
+            }
+            return new BookDto.SearchPage(rows.subList(0, size), page + 1);
+
+        } catch (IOException e) {
+            throw new IllegalStateException("검색 실패", e);
+        }
+    }
+
+    /** 책 생성/수정 커밋 후 색인 */
+    public void indexAfterCommit(Long bookId, String title, String description) {
+        afterCommit(bookId, () -> bookSearchIndex.index(bookId, title, description));
+    }
+
+    /** 책 삭제 커밋 후 색인에서 제거 */
+    public void removeAfterCommit(Long bookId) {
+        afterCommit(bookId, () -> bookSearchIndex.remove(bookId));
+    }
+
+    /**
+     * 기동 시 색인 상태 확인 (정상 종료 여부와 개수 비교만 동기로, 재색인은 별도 스레드)
+     * 개수만으로는 commit 전에 사라진 수정이나 삭제 후 생성을 알 수 없으므로 정상 종료 기록을 함께 확인
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() throws IOException {
+
+        if (bookSearchIndex.closedCleanly() && bookSearchIndex.size() == bookRepository.count()) return;
+
+        Thread thread = new Thread(this::rebuild, "book-search-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * DB 기준 전체 재색인 (bookId 순 keyset 배치)
+     * - 기존 문서는 그대로 두고 같은 id 문서를 교체, 끝난 뒤 DB 에 없는 문서만 제거
+     * - 재색인 중 커밋된 변경은 그쪽이 최신이므로 재색인이 읽은 행으로 덮어쓰지 않음
+     */
+    public synchronized void rebuild() {
+        rebuilding = true;
+        // 끝나기 전에 종료되면 다음 기동 때 다시 재색인
+        bookSearchIndex.setConsistent(false);
+        try {
+            long started = System.currentTimeMillis();
+
+            // 재색인 전부터 있던 문서 (DB 에서 다시 읽히지 않으면 삭제된 책)
+            bookSearchIndex.refresh();
+            Set<Long> missing = bookSearchIndex.ids();
+
+            long indexed = 0;
+            Long after = 0L;
+            List<BookDto.Detail> batch;
+            do {
+                batch = bookRepository.findDetailsAfter(after, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (BookDto.Detail book : batch) {
+                    missing.remove(book.bookId());
+                    synchronized (rebuildLock) {
+                        if (!changedDuringRebuild.contains(book.bookId())) {
+                            bookSearchIndex.index(book.bookId(), book.title(), book.description());
+                        }
+                    }
+                    after = book.bookId();
+                }
+                indexed += batch.size();
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            // 책 id 는 다시 쓰이지 않으므로 그대로 제거 (재색인 중 삭제된 책은 이미 제거됨)
+            for (Long bookId : missing) {
+                bookSearchIndex.remove(bookId);
+            }
+
+            bookSearchIndex.refresh();
+            bookSearchIndex.setConsistent(true);
+            log.info("검색 재색인 완료: {}건, 삭제 {}건, {}ms",
+                    indexed, missing.size(), System.currentTimeMillis() - started);
+
+        } catch (Exception e) {
+            log.error("검색 재색인 실패", e);
+        } finally {
+            synchronized (rebuildLock) {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            }
+        }
+    }
+
+    private void afterCommit(Long bookId, IndexAction action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(bookId, action);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(bookId, action);
+            }
+        });
+    }
+
+    // 커밋 뒤에 재색인 여부 확인 (재색인 시작 전에 커밋된 변경은 재색인이 DB 에서 읽음)
+    private void apply(Long bookId, IndexAction action) {
+
+        if (!rebuilding) {
+            run(action);
+            return;
+        }
+
+        synchronized (rebuildLock) {
+            if (rebuilding) changedDuringRebuild.add(bookId);
+            run(action);
+        }
+    }
+
+    // 색인 실패는 요청을 실패시키지 않음 (다음 기동 때 재색인으로 복구)
+    private void run(IndexAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            bookSearchIndex.setConsistent(false);
+            log.warn("검색 색인 갱신 실패", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexAction {
+        void run() throws IOException;
+    }
+}
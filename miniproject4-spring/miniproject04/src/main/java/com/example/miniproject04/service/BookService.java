@@ -2,15 +2,26 @@ package com.example.miniproject04.service;
 
 import com.example.miniproject04.Entity.Book;
 import com.example.miniproject04.Entity.User;
+import com.example.miniproject04.config.CacheConfig;
+import com.example.miniproject04.dto.BookDto;
+import com.example.miniproject04.exception.ApiException;
+import com.example.miniproject04.exception.ErrorCode;
 import com.example.miniproject04.repository.BookRepository;
 import com.example.miniproject04.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 @Service
@@ -20,22 +31,32 @@ public class BookService {
     private final BookRepository bookRepository;
     private final UserRepository userRepository;
     private final ImageService imageService;
+    private final BookSearchService bookSearchService;
+    private final BookListSnapshot bookListSnapshot;
 
     /** --------------------------------------------
      * 1. 책 생성 (POST /api/v1/books)
+     *    userId 는 검증된 토큰에서 온 값 → 사용자 SELECT 없이 참조만 연결
+     *    (토큰 발급 후 탈퇴한 사용자는 외래키 위반으로 판단)
      * -------------------------------------------- */
     @Transactional
     public Book createBook(Long userId, String title, String description) {
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다."));
-
         Book book = new Book();
-        book.setUser(user);
+        book.setUser(userRepository.getReferenceById(userId));
         book.setTitle(title);
         book.setDescription(description);
 
-        return bookRepository.save(book);  // ← Controller에서 Map.of("book_id") 응답 생성
+        Book saved;
+        try {
+            saved = bookRepository.saveAndFlush(book);  // ← Controller에서 book_id 응답 생성
+        } catch (DataIntegrityViolationException e) {
+            throw new ApiException(ErrorCode.USER_NOT_FOUND);
+        }
+        bookSearchService.indexAfterCommit(saved.getBookId(), title, description);
+        bookListSnapshot.invalidateAfterCommit();
+
+        return saved;
     }
 
     /** --------------------------------------------
@@ -46,7 +67,37 @@ public class BookService {
     public Book findBook(Long bookId) {
 
         return bookRepository.findById(bookId)
-                .orElseThrow(() -> new IllegalArgumentException("삭제된 목록입니다."));
+                .orElseThrow(() -> new ApiException(ErrorCode.BOOK_NOT_FOUND));
+    }
+
+    /** --------------------------------------------
+     * 2-1. 책 단건 조회 캐시 (POST /api/v1/books/check)
+     *      수정/삭제 시 evict
+     * -------------------------------------------- */
+    @Cacheable(cacheNames = CacheConfig.BOOK_DETAIL, key = "#bookId")
+    @Transactional(readOnly = true)
+    public BookDto.Detail getBookDetail(Long bookId) {
+
+        Book book = findBook(bookId);
+
+        return new BookDto.Detail(
+                book.getBookId(),
+                book.getTitle(),
+                book.getDescription(),
+                book.getUser().getUserId(),
+                book.getVersion()
+        );
+    }
+
+    /** --------------------------------------------
+     * 2-2. 책 상세 조회 (GET /api/v1/books/{book_id}/full)
+     *      책/작성자 id/표지 URL 을 단일 쿼리로 조회
+     * -------------------------------------------- */
+    @Transactional(readOnly = true)
+    public BookDto.Full findBookFull(Long bookId) {
+
+        return bookRepository.findFullById(bookId)
+                .orElseThrow(() -> new ApiException(ErrorCode.BOOK_NOT_FOUND));
     }
 
     /** --------------------------------------------
@@ -58,59 +109,145 @@ public class BookService {
         return bookRepository.findAll(Sort.by(Sort.Direction.DESC, "bookId"));
     }
 
+    /** --------------------------------------------
+     * 3-1. 책 목록 커서 조회 (GET /api/v1/books/list?after_book_id=&limit=)
+     *      엔티티 대신 book_id/title/요약 description 만 조회
+     *      limit + 1 건을 읽어 다음 페이지 존재 여부 판단
+     * -------------------------------------------- */
+    @Transactional(readOnly = true)
+    public BookDto.Page findBookPage(Long afterBookId, int limit) {
+
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+
+        List<BookDto.Summary> rows = (afterBookId == null)
+                ? bookRepository.findSummaries(pageRequest)
+                : bookRepository.findSummariesAfter(afterBookId, pageRequest);
+
+        if (rows.size() <= limit) {
+            return new BookDto.Page(rows, null);
+        }
+
+        List<BookDto.Summary> page = rows.subList(0, limit);
+        return new BookDto.Page(page, page.get(limit - 1).bookId());
+    }
+
     /** --------------------------------------------
      * 4. 책 수정 (PUT /api/v1/books/put)
-     *    명세서: 제목/내용만 수정, 이미지 수정 X
+     *    명세서: 제목/내용만 수정, 이미지 수정 X (빈 값은 기존 값 유지)
+     *    작성자/버전 조건을 건 UPDATE 한 번으로 처리, 0건이면 원인 조회
+     *    version 이 null 이면 버전 비교 없이 수정 (버전은 항상 증가)
      * -------------------------------------------- */
+    @CacheEvict(cacheNames = CacheConfig.BOOK_DETAIL, key = "#bookId")
     @Transactional
-    public void updateBook(Long bookId, Long userId, String title, String description, String ignoreImage) {
+    public void updateBook(Long bookId, Long userId, Long version, String title, String description) {
 
-        Book book = findBook(bookId);
+        String newTitle = (title != null && !title.trim().isEmpty()) ? title : null;
+        String newDescription = (description != null && !description.trim().isEmpty()) ? description : null;
+
+        // 바꿀 값이 없으면 존재/권한만 확인
+        if (newTitle == null && newDescription == null) {
+            checkOwner(bookId, userId);
+            return;
+        }
 
-        // 권한 확인
-        if (!book.getUser().getUserId().equals(userId)) {
-            throw new IllegalArgumentException("권환 없음");
+        if (bookRepository.updateOwned(bookId, userId, version, newTitle, newDescription) == 0) {
+            throw rejected(bookId, userId);
+        }
+        bookListSnapshot.invalidateAfterCommit();
+
+        // 검색 색인은 제목/내용이 모두 필요 → 일부만 바꾼 경우에만 다시 읽음
+        if (newTitle != null && newDescription != null) {
+            bookSearchService.indexAfterCommit(bookId, newTitle, newDescription);
+        } else {
+            bookRepository.findById(bookId).ifPresent(book ->
+                    bookSearchService.indexAfterCommit(bookId, book.getTitle(), book.getDescription()));
         }
+    }
 
-        // 제목/내용 수정
-        if (title != null && !title.trim().isEmpty())
-            book.setTitle(title);
+    /** --------------------------------------------
+     * 5. 책 삭제 (DELETE /api/v1/books/delete)
+     *    이미지 삭제(작성자 조건) → 작성자 조건부 DELETE, 0건이면 원인 조회
+     * -------------------------------------------- */
+    @CacheEvict(cacheNames = CacheConfig.BOOK_DETAIL, key = "#bookId")
+    @Transactional
+    public void deleteBook(Long bookId, Long userId) {
 
-        if (description != null && !description.trim().isEmpty())
-            book.setDescription(description);
+        // 1) 이미지 먼저 삭제 (본인 책이 아니면 아무것도 지우지 않음)
+        imageService.deleteImageOfOwnedBook(bookId, userId);
 
-        bookRepository.save(book);
+        // 2) 책 삭제
+        if (bookRepository.deleteOwned(bookId, userId) == 0) {
+            throw rejected(bookId, userId);
+        }
+        bookSearchService.removeAfterCommit(bookId);
+        bookListSnapshot.invalidateAfterCommit();
+    }
+
+    private void checkOwner(Long bookId, Long userId) {
+
+        BookDto.Ownership current = bookRepository.findOwnership(bookId)
+                .orElseThrow(() -> new ApiException(ErrorCode.BOOK_NOT_FOUND));
+
+        if (!current.ownerId().equals(userId)) {
+            throw new ApiException(ErrorCode.FORBIDDEN);
+        }
+    }
+
+    // 조건부 수정/삭제가 0건일 때: 한 번 더 조회해서 없는 책 / 권한 없음 / 버전 충돌 구분
+    private ApiException rejected(Long bookId, Long userId) {
+        try {
+            checkOwner(bookId, userId);
+        } catch (ApiException e) {
+            return e;
+        }
+        return new ApiException(ErrorCode.VERSION_CONFLICT);
     }
 
     /** --------------------------------------------
-     * 5. 책 삭제 (DELETE /api/v1/books/delete/{book_id})
+     * 6. 책 일괄 등록 (POST /api/v1/books/import)
+     *    BookImportService 가 검증한 배치 단위로 호출 (배치마다 커밋)
+     *    작성자 = 로그인 사용자 (존재 여부는 호출 측에서 확인, 여기선 프록시 참조만 사용)
+     *    id 를 시퀀스에서 미리 받으므로 INSERT 는 JDBC 배치로 묶임
      * -------------------------------------------- */
-//    @Transactional
-//    public void deleteBook(Long bookId, Long userId) {
-//
-//        Book book = findBook(bookId);
-//
-//        // 권한 확인
-//        if (!book.getUser().getUserId().equals(userId)) {
-//            throw new IllegalArgumentException("권환 없음");
-//        }
-//
-//        bookRepository.delete(book);
-//    }
     @Transactional
-    public void deleteBook(Long bookId, Long userId) {
+    public void importBooks(Long userId, List<BookDto.CreateRequest> rows) {
 
-        Book book = findBook(bookId);
+        User owner = userRepository.getReferenceById(userId);
+        List<Book> books = new ArrayList<>(rows.size());
 
-        // 권한 확인
-        if (!book.getUser().getUserId().equals(userId)) {
-            throw new IllegalArgumentException("권환 없음");
+        for (BookDto.CreateRequest row : rows) {
+            Book book = new Book();
+            book.setUser(owner);
+            book.setTitle(row.title());
+            book.setDescription(row.description());
+            books.add(book);
         }
 
-        // 1) 이미지 먼저 삭제
-        imageService.deleteImageByBookId(bookId);
+        bookRepository.saveAll(books);
+        bookListSnapshot.invalidateAfterCommit();
 
-        // 2) 책 삭제
-        bookRepository.delete(book);
+        for (Book book : books) {
+            bookSearchService.indexAfterCommit(book.getBookId(), book.getTitle(), book.getDescription());
+        }
+    }
+
+    /** --------------------------------------------
+     * 7. 책 내보내기 구간 조회 (GET /api/v1/books/export)
+     *    afterBookId 다음부터 limit 건을 bookId 오름차순 스트림으로 sink 에 전달
+     *    구간마다 짧은 읽기 전용 트랜잭션 (커넥션/스냅샷을 내보내기 내내 잡지 않음)
+     *    반환: 구간의 마지막 bookId, 더 없으면 null
+     * -------------------------------------------- */
+    @Transactional(readOnly = true)
+    public Long exportBooks(Long afterBookId, int limit, Consumer<BookDto.Full> sink) {
+
+        Long last = null;
+
+        try (Stream<BookDto.Full> rows = bookRepository.streamFullAfter(afterBookId, PageRequest.of(0, limit))) {
+            for (BookDto.Full row : (Iterable<BookDto.Full>) rows::iterator) {
+                sink.accept(row);
+                last = row.bookId();
+            }
+        }
+        return last;
     }
 }
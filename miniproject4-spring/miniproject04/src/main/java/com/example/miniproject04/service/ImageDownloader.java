@@ -0,0 +1,230 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.storage.ImageStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * tempUrl 의 이미지를 ImageStore 에 내려받는 컴포넌트
+ * - DB 트랜잭션 밖(이미지 워커 스레드)에서만 호출
+ * - http/https 주소만 허용 (file:, jar: 등은 연결 전에 거부)
+ * - 루프백/사설망/링크 로컬 주소로 풀리는 호스트는 거부 (actuator, 클라우드 메타데이터 등 내부 요청 차단)
+ * - 리다이렉트는 직접 따라가며 매 단계 주소를 다시 검사 (최대 MAX_REDIRECTS 번)
+ * - 연결/읽기 타임아웃, 최대 크기 제한 적용
+ * - 메트릭: image.download (성공 소요 시간), image.download.bytes, image.download.failures
+ */
+@Component
+public class ImageDownloader {
+
+    private static final int MAX_REDIRECTS = 3;
+
+    private final ImageStore imageStore;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final long maxSizeBytes;
+
+    private final Timer downloadTimer;
+    private final DistributionSummary downloadBytes;
+    private final Counter downloadFailures;
+    private final Counter duplicates;
+
+    public ImageDownloader(
+            ImageStore imageStore,
+            MeterRegistry meterRegistry,
+            @Value("${image.download.connect-timeout:3s}") Duration connectTimeout,
+            @Value("${image.download.read-timeout:10s}") Duration readTimeout,
+            @Value("${image.download.max-size:10MB}") DataSize maxSize) {
+
+        this.imageStore = imageStore;
+        this.connectTimeoutMillis = (int) connectTimeout.toMillis();
+        this.readTimeoutMillis = (int) readTimeout.toMillis();
+        this.maxSizeBytes = maxSize.toBytes();
+
+        // 다운로드는 네트워크 읽기와 저장소 쓰기가 한 스트림이라 함께 측정됨
+        this.downloadTimer = Timer.builder("image.download")
+                .description("tempUrl 다운로드 + 저장 소요 시간 (성공)")
+                .register(meterRegistry);
+        this.downloadBytes = DistributionSummary.builder("image.download.bytes")
+                .description("다운로드한 이미지 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.downloadFailures = Counter.builder("image.download.failures")
+                .description("다운로드 실패 (타임아웃, 크기 초과, 연결 오류 등)")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("image.download.duplicates")
+                .description("이미 저장된 내용이라 새 파일을 만들지 않은 다운로드")
+                .register(meterRegistry);
+    }
+
+    /**
+     * tempUrl → 저장소에 내용 주소(SHA-256)로 저장
+     * 같은 이미지가 이미 있으면 새 파일을 만들지 않음
+     */
+    public ImageStore.Stored download(String tempUrl) throws IOException {
+
+        Timer.Sample sample = Timer.start();
+        try {
+            ImageStore.Stored stored = fetch(tempUrl);
+
+            sample.stop(downloadTimer);
+            downloadBytes.record(stored.size());
+            if (!stored.created()) duplicates.increment();
+            return stored;
+
+        } catch (IOException | RuntimeException e) {
+            downloadFailures.increment();
+            throw e;
+        }
+    }
+
+    private ImageStore.Stored fetch(String tempUrl) throws IOException {
+
+        HttpURLConnection conn = connect(toHttpUri(tempUrl));
+
+        try {
+            // Content-Length 가 있으면 받기 전에 먼저 거름
+            long contentLength = conn.getContentLengthLong();
+            if (contentLength > maxSizeBytes) {
+                throw new IOException("이미지 크기 초과: " + contentLength + " bytes");
+            }
+
+            try (InputStream in = new LimitedInputStream(conn.getInputStream(), maxSizeBytes)) {
+                return imageStore.putContent(in, ".png");
+            }
+
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    /**
+     * 응답이 리다이렉트가 아닐 때까지 연결
+     * URLConnection 의 자동 리다이렉트는 같은 프로토콜이면 어디로든 따라가므로 끄고, 매 단계 호스트를 다시 검사
+     */
+    private HttpURLConnection connect(URI uri) throws IOException {
+        for (int redirects = 0; ; redirects++) {
+            checkPublicHost(uri);
+
+            HttpURLConnection conn = (HttpURLConnection) uri.toURL().openConnection();
+            conn.setInstanceFollowRedirects(false);
+            conn.setConnectTimeout(connectTimeoutMillis);
+            conn.setReadTimeout(readTimeoutMillis);
+
+            int status;
+            try {
+                status = conn.getResponseCode();
+            } catch (IOException e) {
+                conn.disconnect();
+                throw e;
+            }
+            if (status < 300 || status >= 400) {
+                return conn;
+            }
+
+            String location = conn.getHeaderField("Location");
+            conn.disconnect();
+            if (location == null) {
+                throw new IOException("Location 없는 리다이렉트: " + uri);
+            }
+            if (redirects >= MAX_REDIRECTS) {
+                throw new IOException("리다이렉트 횟수 초과: " + uri);
+            }
+            uri = toHttpUri(resolve(uri, location));
+        }
+    }
+
+    private static String resolve(URI base, String location) throws IOException {
+        try {
+            return base.resolve(location).toString();
+        } catch (IllegalArgumentException e) {
+            throw new IOException("잘못된 리다이렉트 주소: " + location, e);
+        }
+    }
+
+    private static URI toHttpUri(String tempUrl) throws IOException {
+        URI uri;
+        try {
+            uri = URI.create(tempUrl);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("잘못된 이미지 주소: " + tempUrl, e);
+        }
+
+        String scheme = uri.getScheme();
+        if (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme)) {
+            throw new IOException("http/https 주소만 허용: " + tempUrl);
+        }
+        if (uri.getHost() == null) {
+            throw new IOException("호스트가 없는 이미지 주소: " + tempUrl);
+        }
+        return uri;
+    }
+
+    /**
+     * 호스트가 풀리는 주소 중 하나라도 내부 주소면 거부
+     * (연결 시 다시 이름을 풀지만 JVM DNS 캐시 안에서는 같은 결과)
+     */
+    private static void checkPublicHost(URI uri) throws IOException {
+        for (InetAddress address : InetAddress.getAllByName(uri.getHost())) {
+            if (isInternal(address)) {
+                throw new IOException("내부 주소로는 요청할 수 없음: " + uri.getHost());
+            }
+        }
+    }
+
+    private static boolean isInternal(InetAddress address) {
+        return address.isAnyLocalAddress()
+                || address.isLoopbackAddress()
+                || address.isSiteLocalAddress()
+                || address.isLinkLocalAddress()
+                || address.isMulticastAddress()
+                // IPv6 고유 로컬 주소(fc00::/7) 는 isSiteLocalAddress 에 포함되지 않음
+                || (address instanceof Inet6Address && (address.getAddress()[0] & 0xfe) == 0xfc);
+    }
+
+    // Content-Length 가 없거나 거짓인 경우를 위해 읽는 중에도 크기 제한
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long total;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            total += n;
+            if (total > limit) {
+                throw new IOException("이미지 크기 초과: " + limit + " bytes 이상");
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.repository.GeneratedImageRepository;
+import com.example.miniproject04.repository.ImageBlobRepository;
+import com.example.miniproject04.storage.ImageStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 이미지 파일 삭제 큐
+ * - 삭제 요청은 트랜잭션 커밋 후에만 큐에 넣음 (롤백되면 파일과 DB 행이 그대로 남음)
+ * - 워커 스레드가 batch-delay 동안 모은 요청을 한 번에 처리:
+ *   그 사이 다시 참조된 파일(같은 내용 재등록 등)은 쿼리 한 번으로 걸러내고 나머지 삭제
+ * - min-age 보다 최근에 저장/재사용된 파일은 DB 반영 전일 수 있어 남김 (ImageOrphanCollector 가 나중에 회수)
+ * - 큐가 가득 차면 버림 (ImageOrphanCollector 가 나중에 회수)
+ */
+@Component
+public class ImageFileCleaner {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageFileCleaner.class);
+
+    private static final String URL_PREFIX = "/images/";
+    private static final int BATCH_SIZE = 100;
+
+    private final ImageStore imageStore;
+    private final ImageBlobRepository imageBlobRepository;
+    private final GeneratedImageRepository imageRepository;
+
+    private final BlockingQueue<String> queue;
+    private final long batchDelayMillis;
+    private final Duration minAge;
+    private Thread worker;
+
+    public ImageFileCleaner(
+            ImageStore imageStore,
+            ImageBlobRepository imageBlobRepository,
+            GeneratedImageRepository imageRepository,
+            @Value("${image.delete.queue-capacity:10000}") int queueCapacity,
+            @Value("${image.delete.batch-delay:1s}") Duration batchDelay,
+            @Value("${image.gc.min-age:1h}") Duration minAge) {
+
+        this.imageStore = imageStore;
+        this.imageBlobRepository = imageBlobRepository;
+        this.imageRepository = imageRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchDelayMillis = batchDelay.toMillis();
+        this.minAge = minAge;
+    }
+
+    // 생성이 끝난 뒤에 워커 시작 (생성자에서 시작하면 덜 만들어진 객체가 워커에 보일 수 있음)
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::drain, "image-file-cleaner");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * "/images/파일명" 파일을 커밋 후 삭제 (트랜잭션 밖이면 바로 큐에 넣음)
+     */
+    public void deleteAfterCommit(String imageUrl) {
+
+        if (imageUrl == null || !imageUrl.startsWith(URL_PREFIX)) return;
+        String key = imageUrl.substring(URL_PREFIX.length());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(key);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(key);
+            }
+        });
+    }
+
+    private void enqueue(String key) {
+        if (!queue.offer(key)) {
+            log.warn("이미지 삭제 큐가 가득 참 (고아 정리 때 회수): {}", key);
+        }
+    }
+
+    private void drain() {
+
+        Set<String> batch = new LinkedHashSet<>();
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+
+                // 잠시 모아서 한 번에 (참조 확인 쿼리를 배치당 한 번으로)
+                Thread.sleep(batchDelayMillis);
+                List<String> more = new ArrayList<>();
+                queue.drainTo(more, BATCH_SIZE - 1);
+                batch.addAll(more);
+
+                deleteUnreferenced(batch);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // 남은 파일은 고아 정리 때 회수
+                log.warn("이미지 파일 삭제 실패", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * DB 에서 참조하지 않고 min-age 보다 오래된 key 만 삭제, 삭제한 수 반환
+     * (ImageOrphanCollector 도 사용)
+     * 같은 내용을 다시 내려받은 워커는 putContent 에서 수정 시각을 갱신한 뒤 참조를 커밋하므로,
+     * 참조 확인과 삭제 사이에 재사용된 파일은 수정 시각 조건으로 남음
+     */
+    int deleteUnreferenced(Collection<String> keys) {
+
+        // 참조 확인 전에 기준 시각을 정함
+        Instant cutoff = Instant.now().minus(minAge);
+        Set<String> referenced = findReferenced(keys);
+        int deleted = 0;
+
+        for (String key : keys) {
+            if (referenced.contains(key)) continue;
+            try {
+                if (imageStore.deleteIfOlderThan(key, cutoff)) deleted++;
+            } catch (IOException | RuntimeException e) {
+                log.warn("이미지 파일 삭제 실패: {} ({})", key, e.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    // image_blob (내용 주소 파일) 또는 generated_image.image_url (이전 방식 파일) 이 가리키는 key
+    private Set<String> findReferenced(Collection<String> keys) {
+
+        List<String> digests = new ArrayList<>(keys.size());
+        List<String> urls = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            int dot = key.indexOf('.');
+            digests.add(dot > 0 ? key.substring(0, dot) : key);
+            urls.add(URL_PREFIX + key);
+        }
+
+        Set<String> referenced = new HashSet<>(imageBlobRepository.findStoreKeysByDigestIn(digests));
+        for (String url : imageRepository.findImageUrlsIn(urls)) {
+            referenced.add(url.substring(URL_PREFIX.length()));
+        }
+        return referenced;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (worker != null) worker.interrupt();
+    }
+}
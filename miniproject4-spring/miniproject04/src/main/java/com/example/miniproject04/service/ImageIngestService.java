@@ -0,0 +1,75 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.exception.ApiException;
+import com.example.miniproject04.exception.ErrorCode;
+import com.example.miniproject04.storage.ImageStore;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+/**
+ * 이미지 다운로드 작업을 워커 풀에 넘기는 서비스
+ * - 요청 스레드는 PENDING 행 저장 후 바로 반환
+ * - 다운로드는 트랜잭션 밖에서 수행, 결과 반영만 짧은 트랜잭션으로 처리
+ */
+@Service
+@RequiredArgsConstructor
+public class ImageIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageIngestService.class);
+
+    private final ImageService imageService;
+    private final ImageDownloader imageDownloader;
+
+    // 필드명으로 imageIngestExecutor 빈 주입
+    private final TaskExecutor imageIngestExecutor;
+
+    /**
+     * 다운로드 작업 등록
+     * 큐가 가득 찬 경우 해당 작업을 FAILED 로 표시하고 IMAGE_BUSY (503)
+     */
+    public void submit(ImageService.Job job, String tempUrl) {
+        try {
+            imageIngestExecutor.execute(() -> ingest(job, tempUrl));
+        } catch (TaskRejectedException e) {
+            imageService.failImage(job);
+            throw new ApiException(ErrorCode.IMAGE_BUSY);
+        }
+    }
+
+    private void ingest(ImageService.Job job, String tempUrl) {
+
+        ImageStore.Stored stored;
+        try {
+            stored = imageDownloader.download(tempUrl);
+        } catch (Exception e) {
+            log.warn("이미지 다운로드 실패: job {} ({})", job.jobId(), e.getMessage());
+            imageService.failImage(job);
+            return;
+        }
+
+        try {
+            // 다운로드 도중 책/이미지가 삭제되었거나 새 작업이 등록되었으면 참조 없는 파일 정리
+            if (!complete(job, stored)) {
+                imageService.discardUnreferenced(stored);
+            }
+        } catch (Exception e) {
+            log.error("이미지 저장 반영 실패: job {}", job.jobId(), e);
+            imageService.failImage(job);
+        }
+    }
+
+    // 같은 내용의 blob 행을 두 워커가 동시에 처음 만들면 한쪽이 PK 충돌
+    // → 새 트랜잭션으로 한 번 더 시도하면 기존 행의 참조 수 증가로 처리됨
+    private boolean complete(ImageService.Job job, ImageStore.Stored stored) {
+        try {
+            return imageService.completeImage(job, stored);
+        } catch (DataIntegrityViolationException e) {
+            return imageService.completeImage(job, stored);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.storage.ImageStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 고아 이미지 파일 정리 (DB 가 참조하지 않는 저장소 파일 회수)
+ * - interval 마다 저장소를 batch-size 개씩만 이어서 훑음 (속도 제한, 전체 목록을 메모리에 올리지 않음)
+ * - min-age 보다 최근 파일은 다운로드 후 DB 반영 전일 수 있어 건너뜀
+ * - 삭제 큐 유실, 재시작, 반영 실패 등으로 남은 파일이 대상
+ */
+@Component
+@ConditionalOnProperty(name = "image.gc.enabled", havingValue = "true", matchIfMissing = true)
+public class ImageOrphanCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageOrphanCollector.class);
+
+    private final ImageStore imageStore;
+    private final ImageFileCleaner imageFileCleaner;
+    private final int batchSize;
+    private final Duration minAge;
+    private final long intervalMillis;
+    private final ScheduledExecutorService scheduler;
+
+    // 다음 구간 위치 (null 이면 처음부터), 한 바퀴 동안의 집계
+    private String cursor;
+    private long scanned;
+    private long reclaimed;
+
+    public ImageOrphanCollector(
+            ImageStore imageStore,
+            ImageFileCleaner imageFileCleaner,
+            @Value("${image.gc.interval:10s}") Duration interval,
+            @Value("${image.gc.batch-size:200}") int batchSize,
+            @Value("${image.gc.min-age:1h}") Duration minAge) {
+
+        this.imageStore = imageStore;
+        this.imageFileCleaner = imageFileCleaner;
+        this.batchSize = batchSize;
+        this.minAge = minAge;
+        this.intervalMillis = interval.toMillis();
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "image-orphan-gc");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // 생성이 끝난 뒤에 예약 (생성자에서 예약하면 덜 만들어진 객체가 스케줄러에 보일 수 있음)
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::step, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 한 구간 처리 (스케줄러 스레드에서만 호출)
+     */
+    void step() {
+        try {
+            ImageStore.Listing listing = imageStore.list(cursor, batchSize);
+            Instant cutoff = Instant.now().minus(minAge);
+
+            List<String> candidates = new ArrayList<>();
+            for (ImageStore.Entry entry : listing.entries()) {
+                if (entry.lastModified().isBefore(cutoff)) {
+                    candidates.add(entry.key());
+                }
+            }
+
+            scanned += listing.entries().size();
+            if (!candidates.isEmpty()) {
+                reclaimed += imageFileCleaner.deleteUnreferenced(candidates);
+            }
+
+            cursor = listing.next();
+            if (cursor == null) {
+                if (reclaimed > 0) {
+                    log.info("고아 이미지 정리: {}개 중 {}개 삭제", scanned, reclaimed);
+                }
+                scanned = 0;
+                reclaimed = 0;
+            }
+
+        } catch (Exception e) {
+            log.warn("고아 이미지 정리 실패", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -2,162 +2,223 @@ package com.example.miniproject04.service;
 
 import com.example.miniproject04.Entity.Book;
 import com.example.miniproject04.Entity.GeneratedImage;
+import com.example.miniproject04.Entity.ImageBlob;
+import com.example.miniproject04.Entity.ImageStatus;
+import com.example.miniproject04.config.CacheConfig;
+import com.example.miniproject04.exception.ApiException;
+import com.example.miniproject04.exception.ErrorCode;
 import com.example.miniproject04.repository.BookRepository;
 import com.example.miniproject04.repository.GeneratedImageRepository;
+import com.example.miniproject04.repository.ImageBlobRepository;
+import com.example.miniproject04.storage.ImageStore;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.InputStream;
-import java.net.URL;
-import java.nio.file.*;
-import java.util.UUID;
-
 @Service
 @RequiredArgsConstructor
 public class ImageService {
 
     private final GeneratedImageRepository imageRepository;
     private final BookRepository bookRepository;
+    private final ImageBlobRepository imageBlobRepository;
+    private final ImageFileCleaner imageFileCleaner;
+    private final CacheManager cacheManager;
 
-    // 실제 이미지 저장 경로
-    private static final String IMAGE_SAVE_DIR = "C:/images";
+    /**
+     * 다운로드 작업 (jobId = imgId, 응답의 job_id)
+     * generation: 등록 시점의 작업 세대, 완료/실패 반영 시 현재 세대와 비교
+     */
+    public record Job(Long jobId, long generation) {
+    }
 
     /**
      * =======================================================
-     * 1. 이미지 등록 (이미지 저장 후 URL 반환)
+     * 1. 이미지 등록 (PENDING 행 저장 후 job_id 반환)
+     *    실제 다운로드는 ImageIngestService 워커가 처리
      * =======================================================
      */
     @Transactional
-    public String createImage(String tempUrl, Long bookId) {
+    public Job createImage(Long bookId) {
 
         Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new IllegalArgumentException("책을 찾을 수 없습니다."));
-
-        // 이미지 저장 + URL 생성
-        String imageUrl = downloadImageToLocal(tempUrl, bookId);
+                .orElseThrow(() -> new ApiException(ErrorCode.BOOK_NOT_FOUND));
 
         GeneratedImage img = new GeneratedImage();
         img.setBook(book);
-        img.setImageUrl(imageUrl);
-
-        imageRepository.save(img);
+        img.setStatus(ImageStatus.PENDING);
 
-        return imageUrl; // ⭐ 프론트에 반환할 상대URL (/images/xxx.png)
+        GeneratedImage saved = imageRepository.save(img);
+        return new Job(saved.getImgId(), saved.getGeneration()); // ⭐ job_id
     }
 
     /**
      * =======================================================
-     * 2. 이미지 조회
+     * 2. 이미지 조회 (상대 URL, 캐시)
+     *    이미지 수정/완료/삭제 시 evict
      * =======================================================
      */
+    @Cacheable(cacheNames = CacheConfig.BOOK_IMAGE, key = "#bookId")
     @Transactional(readOnly = true)
-    public GeneratedImage getImage(Long bookId) {
+    public String getImageUrl(Long bookId) {
 
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new IllegalArgumentException("삭제된 목록입니다."));
+        GeneratedImage img = imageRepository.findByBookBookId(bookId).orElse(null);
 
-        GeneratedImage img = imageRepository.findByBook(book);
-
-        if (img == null) {
-            throw new IllegalArgumentException("삭제된 목록입니다.");
+        // 책/이미지가 없거나 아직 저장된 이미지가 없는 경우(최초 다운로드 대기/실패)
+        if (img == null || img.getImageUrl() == null) {
+            throw new ApiException(ErrorCode.IMAGE_NOT_FOUND);
         }
 
-        return img;
+        return img.getImageUrl();
     }
 
     /**
      * =======================================================
-     * 3. 이미지 수정 (새 이미지 덮어쓰기)
+     * 2-1. 다운로드 작업 상태 조회 (job_id = imgId)
      * =======================================================
      */
-    @Transactional
-    public String updateImage(Long bookId, String tempUrl, Long userId) {
+    @Transactional(readOnly = true)
+    public GeneratedImage getJob(Long jobId) {
 
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new IllegalArgumentException("삭제된 목록입니다."));
+        return imageRepository.findById(jobId)
+                .orElseThrow(() -> new ApiException(ErrorCode.IMAGE_NOT_FOUND));
+    }
 
-        // 권한 확인
-        if (!book.getUser().getUserId().equals(userId)) {
-            throw new IllegalArgumentException("권한 없음");
-        }
+    /**
+     * =======================================================
+     * 3. 이미지 수정 (PENDING 으로 바꾸고 작업 세대 +1, job_id 반환)
+     *    새 이미지가 준비될 때까지 기존 이미지 URL 유지
+     *    진행 중이던 이전 작업은 세대가 달라지므로 끝나도 반영되지 않음
+     * =======================================================
+     */
+    @CacheEvict(cacheNames = CacheConfig.BOOK_IMAGE, key = "#bookId")
+    @Transactional
+    public Job updateImage(Long bookId, Long userId) {
 
-        GeneratedImage img = imageRepository.findByBook(book);
+        // 이미지 + 책 한 번에 조회 (행 잠금)
+        GeneratedImage img = imageRepository.findWithBookByBookBookId(bookId)
+                .orElseThrow(() -> new ApiException(ErrorCode.IMAGE_NOT_FOUND));
 
-        if (img == null) {
-            throw new IllegalArgumentException("삭제된 목록입니다.");
+        // 권한 확인
+        if (!img.getBook().getUser().getUserId().equals(userId)) {
+            throw new ApiException(ErrorCode.FORBIDDEN);
         }
 
-        // 새 이미지 저장
-        String newImageUrl = downloadImageToLocal(tempUrl, bookId);
-
-        img.setImageUrl(newImageUrl);
-        imageRepository.save(img);
+        img.setStatus(ImageStatus.PENDING);
+        img.setGeneration(img.getGeneration() + 1);
 
-        return newImageUrl; // ⭐ 프론트로 반환할 상대URL
+        return new Job(img.getImgId(), img.getGeneration()); // ⭐ job_id
     }
 
     /**
      * =======================================================
-     * tempUrl → 로컬 저장 후 접근 가능한 URL 반환
+     * 4. 다운로드 완료 반영 (워커 스레드에서 호출)
+     *    새 blob 참조 +1, 이전 blob 참조 -1 (같은 내용이면 변화 없음)
+     *    이미지 행이 이미 삭제되었거나 그 사이 새 작업이 등록되었으면 false (반영 안 함)
      * =======================================================
      */
-    private String downloadImageToLocal(String tempUrl, Long bookId) {
+    @Transactional
+    public boolean completeImage(Job job, ImageStore.Stored stored) {
 
-        try {
-            URL url = new URL(tempUrl);
-            InputStream in = url.openStream();
+        GeneratedImage img = imageRepository.findById(job.jobId()).orElse(null);
 
-            // 저장 폴더 생성
-            Path saveDir = Paths.get(IMAGE_SAVE_DIR);
-            if (!Files.exists(saveDir)) {
-                Files.createDirectories(saveDir);
-            }
+        if (img == null) return false;
+
+        // 이 세대의 결과는 이 워커만 반영하므로, 조건부 갱신이 성공하면 위에서 읽은 이전 값이 그대로 유효
+        String previousHash = img.getContentHash();
+        String previousUrl = img.getImageUrl();
+
+        if (imageRepository.completeJob(job.jobId(), job.generation(),
+                stored.digest(), "/images/" + stored.key()) == 0) {
+            return false;
+        }
 
-            // 파일명 생성
-            String fileName = "book_" + bookId + "_" + UUID.randomUUID() + ".png";
+        acquireBlob(stored);
 
-            // 로컬 저장 경로
-            Path destination = saveDir.resolve(fileName);
+        // 이미지 URL 이 바뀌므로 조회 캐시 제거 (커밋 후 반영)
+        Cache cache = cacheManager.getCache(CacheConfig.BOOK_IMAGE);
+        if (cache != null) {
+            cache.evict(img.getBook().getBookId());
+        }
 
-            // 이미지 저장
-            Files.copy(in, destination, StandardCopyOption.REPLACE_EXISTING);
+        if (previousHash != null) {
+            releaseBlob(previousHash, previousUrl);
+        }
+        return true;
+    }
 
-            // ⭐ DB에는 상대URL만 저장
-            return "/images/" + fileName;
+    /**
+     * =======================================================
+     * 4-1. 참조되지 않은 업로드 정리 (완료 반영 전에 이미지가 삭제된 경우)
+     * =======================================================
+     */
+    @Transactional
+    public void discardUnreferenced(ImageStore.Stored stored) {
 
-        } catch (Exception e) {
-            throw new RuntimeException("이미지 다운로드 실패: " + e.getMessage());
+        if (!imageBlobRepository.existsById(stored.digest())) {
+            imageFileCleaner.deleteAfterCommit("/images/" + stored.key());
         }
     }
 
+    /**
+     * =======================================================
+     * 5. 다운로드 실패 반영 (기존 이미지 URL 은 유지)
+     *    현재 세대의 PENDING 작업일 때만 (늦게 실패한 이전 작업은 무시)
+     * =======================================================
+     */
     @Transactional
-    public void deleteImageByBookId(Long bookId) {
+    public void failImage(Job job) {
 
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new IllegalArgumentException("삭제된 목록입니다."));
+        imageRepository.failJob(job.jobId(), job.generation());
+    }
+
+    /**
+     * =======================================================
+     * 6. 책 삭제 시 이미지 삭제 (BookService.deleteBook 트랜잭션 안에서 호출)
+     *    작성자 본인 책의 이미지만 조회/삭제, 아니면 아무것도 하지 않음
+     *    (권한/존재 여부 판단은 이어지는 책 삭제 결과로)
+     * =======================================================
+     */
+    @CacheEvict(cacheNames = CacheConfig.BOOK_IMAGE, key = "#bookId")
+    @Transactional
+    public void deleteImageOfOwnedBook(Long bookId, Long userId) {
 
-        GeneratedImage img = imageRepository.findByBook(book);
+        GeneratedImage img = imageRepository.findOwnedByBookId(bookId, userId).orElse(null);
 
         if (img == null) return; // 이미지 없으면 바로 종료
 
-        // 1) 로컬 파일 삭제
-        deleteLocalFile(img.getImageUrl());
+        // 1) 파일은 커밋 후 삭제 예약 (내용 주소 파일은 마지막 참조일 때만)
+        if (img.getContentHash() != null) {
+            releaseBlob(img.getContentHash(), img.getImageUrl());
+        } else {
+            imageFileCleaner.deleteAfterCommit(img.getImageUrl());
+        }
 
         // 2) DB 삭제
-        imageRepository.delete(img);
+        imageRepository.deleteByImgId(img.getImgId());
+    }
+
+    // blob 참조 +1 (처음 보는 내용이면 행 생성)
+    private void acquireBlob(ImageStore.Stored stored) {
+
+        if (imageBlobRepository.increment(stored.digest()) == 0) {
+            imageBlobRepository.save(
+                    new ImageBlob(stored.digest(), stored.key(), stored.size(), 1));
+        }
     }
 
-    private void deleteLocalFile(String imageUrl) {
-        try {
-            // "/images/파일명.png" → 실제 저장 경로로 변환
-            String fileName = imageUrl.replace("/images/", "");
-            Path filePath = Paths.get(IMAGE_SAVE_DIR, fileName);
+    // blob 참조 -1, 마지막 참조였으면 행 삭제 + 파일은 커밋 후 삭제
+    // (롤백되면 행이 되살아나므로 파일도 남겨둠)
+    private void releaseBlob(String digest, String imageUrl) {
 
-            Files.deleteIfExists(filePath);
+        imageBlobRepository.decrement(digest);
 
-        } catch (Exception e) {
-            System.out.println("이미지 파일 삭제 실패: " + e.getMessage());
+        if (imageBlobRepository.deleteIfUnreferenced(digest) > 0) {
+            imageFileCleaner.deleteAfterCommit(imageUrl);
         }
     }
 }
@@ -0,0 +1,444 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.exception.ApiException;
+import com.example.miniproject04.exception.ErrorCode;
+import com.example.miniproject04.storage.ImageStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 이미지 리사이즈/재인코딩 변형본 서비스 (/images/{파일명}?w=320&format=jpeg)
+ * - 폭은 고정 프리셋으로 올림 (임의 크기 요청으로 캐시가 부풀지 않도록)
+ * - 변형본은 용량 제한이 있는 디스크 LRU 캐시에 보관
+ * - 같은 변형본 동시 요청은 한 번만 렌더링하고 결과 공유
+ * - 렌더링은 요청 스레드에서 하므로 원본 픽셀 수와 동시 렌더링 수를 제한
+ * - 변형본은 열어 둔 파일(Variant)로 넘김 → 캐시에서 밀려나 삭제되어도 응답은 끝까지 전송
+ */
+@Service
+public class ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+    // 허용 폭 프리셋 (오름차순)
+    private static final int[] WIDTH_PRESETS = {160, 320, 640, 1024};
+
+    // JDK ImageIO 기본 writer 가 있는 포맷만 허용
+    private static final Set<String> FORMATS = Set.of("png", "jpeg");
+
+    // 같은 변형본을 여는 도중 캐시에서 밀려난 경우 다시 렌더링하는 최대 횟수
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ImageStore imageStore;
+    private final Path cacheDir;
+    private final long maxCacheBytes;
+    private final long maxPixels;
+    private final Semaphore renderPermits;
+    private final Duration renderWait;
+
+    // 변형본 key → 파일 크기 (접근 순서 LRU)
+    private final LinkedHashMap<String, Long> lru = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedBytes;
+
+    // 렌더링 중인 변형본 (동시 요청 합치기)
+    private final ConcurrentMap<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public ImageVariantService(
+            ImageStore imageStore,
+            @Value("${image.variant.cache-dir}") String cacheDir,
+            @Value("${image.variant.cache-max-size:512MB}") DataSize maxCacheSize,
+            @Value("${image.variant.max-pixels:25000000}") long maxPixels,
+            @Value("${image.variant.max-renders:2}") int maxRenders,
+            @Value("${image.variant.render-wait:2s}") Duration renderWait) throws IOException {
+
+        this.imageStore = imageStore;
+        this.cacheDir = Paths.get(cacheDir).toAbsolutePath().normalize();
+        this.maxCacheBytes = maxCacheSize.toBytes();
+        this.maxPixels = maxPixels;
+        this.renderPermits = new Semaphore(maxRenders);
+        this.renderWait = renderWait;
+
+        Files.createDirectories(this.cacheDir);
+        loadExisting();
+    }
+
+    /**
+     * 요청 폭을 프리셋으로 올림 (원본보다 크게 늘리지는 않음)
+     */
+    public static int presetWidth(int requested) {
+        if (requested <= 0) {
+            throw new ApiException(ErrorCode.INVALID_IMAGE_SIZE);
+        }
+        for (int preset : WIDTH_PRESETS) {
+            if (requested <= preset) return preset;
+        }
+        return WIDTH_PRESETS[WIDTH_PRESETS.length - 1];
+    }
+
+    public static String normalizeFormat(String format) {
+        String f = (format == null) ? "png" : format.toLowerCase(Locale.ROOT);
+        if (f.equals("jpg")) f = "jpeg";
+        if (!FORMATS.contains(f)) {
+            throw new ApiException(ErrorCode.INVALID_IMAGE_FORMAT);
+        }
+        return f;
+    }
+
+    /**
+     * 변형본 파일을 열어서 반환 (없으면 렌더링 후 캐시), 사용 후 close
+     * 원본이 없으면 empty (남아 있던 변형본도 정리)
+     */
+    public Optional<Variant> getVariant(String key, int width, String format) throws IOException {
+
+        ImageStore.checkKey(key);
+        String variantKey = width + "_" + stripExtension(key) + "." + (format.equals("jpeg") ? "jpg" : format);
+        Path path = cacheDir.resolve(variantKey);
+
+        // 책 삭제 등으로 원본이 지워졌으면 캐시된 변형본도 내보내지 않음
+        Resource source = imageStore.get(key).orElse(null);
+        if (source == null) {
+            discard(variantKey);
+            return Optional.empty();
+        }
+
+        // 열기 전에 캐시에서 밀려나 삭제되었으면 다시 렌더링
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Variant variant = touch(variantKey) ? Variant.open(path) : null;
+            if (variant == null) {
+                variant = Variant.open(renderOnce(variantKey, source, path, width, format));
+            }
+            if (variant != null) {
+                return Optional.of(variant);
+            }
+        }
+        throw new IOException("변형 이미지를 열 수 없습니다: " + variantKey);
+    }
+
+    // 같은 변형본 동시 요청은 먼저 온 요청만 렌더링, 나머지는 결과를 기다림
+    private Path renderOnce(String variantKey, Resource source, Path target, int width, String format)
+            throws IOException {
+
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(variantKey, future);
+
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            acquireRenderPermit();
+            try {
+                render(source, target, width, format);
+            } finally {
+                renderPermits.release();
+            }
+            register(variantKey, Files.size(target));
+            future.complete(target);
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(variantKey, future);
+        }
+        return target;
+    }
+
+    // 동시 렌더링 수 제한 (렌더링 한 건이 원본 디코딩 메모리를 통째로 씀)
+    private void acquireRenderPermit() throws IOException {
+        try {
+            if (!renderPermits.tryAcquire(renderWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new ApiException(ErrorCode.IMAGE_BUSY);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("변형 이미지 렌더링 대기 중 중단되었습니다.");
+        }
+    }
+
+    private void render(Resource source, Path target, int width, String format) throws IOException {
+
+        BufferedImage original = decode(source, width);
+
+        // 원본보다 크게 늘리지 않음, 비율 유지
+        int targetWidth = Math.min(width, original.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round(
+                (double) original.getHeight() * targetWidth / original.getWidth()));
+
+        // JPEG 은 알파 채널 없는 RGB 로
+        int type = format.equals("jpeg") ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage resized = new BufferedImage(targetWidth, targetHeight, type);
+
+        Graphics2D g = resized.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(original, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            g.dispose();
+        }
+
+        Path temp = Files.createTempFile(cacheDir, ".render-", ".part");
+        try {
+            if (!ImageIO.write(resized, format, temp.toFile())) {
+                throw new IOException("이미지 인코딩 실패: " + format);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 헤더의 가로/세로만 먼저 읽어 픽셀 수 제한을 넘으면 디코딩하지 않음
+     * 큰 원본은 목표 폭에 가깝게 건너뛰며 디코딩 (작게 압축된 거대한 PNG 로 힙이 부족해지지 않도록)
+     */
+    private BufferedImage decode(Resource source, int width) throws IOException {
+
+        try (InputStream in = source.getInputStream();
+             ImageInputStream input = ImageIO.createImageInputStream(in)) {
+
+            Iterator<ImageReader> readers = (input == null) ? Collections.emptyIterator() : ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("이미지를 읽을 수 없습니다.");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                if ((long) sourceWidth * sourceHeight > maxPixels) {
+                    throw new ApiException(ErrorCode.IMAGE_TOO_LARGE);
+                }
+
+                int step = Math.max(1, sourceWidth / width);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // LRU 접근 기록 (캐시에 있으면 true)
+    private synchronized boolean touch(String variantKey) {
+        return lru.get(variantKey) != null;
+    }
+
+    // 캐시에 추가 후 용량 초과분을 오래된 순으로 삭제
+    private void register(String variantKey, long size) {
+
+        List<String> evicted = new ArrayList<>();
+
+        synchronized (this) {
+            Long previous = lru.put(variantKey, size);
+            cachedBytes += size - (previous == null ? 0 : previous);
+
+            Iterator<Map.Entry<String, Long>> it = lru.entrySet().iterator();
+            while (cachedBytes > maxCacheBytes && it.hasNext()) {
+                Map.Entry<String, Long> eldest = it.next();
+                if (eldest.getKey().equals(variantKey)) continue;
+                cachedBytes -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                it.remove();
+            }
+        }
+
+        for (String key : evicted) {
+            delete(key);
+        }
+    }
+
+    // 원본이 지워진 변형본을 캐시에서 제거
+    private void discard(String variantKey) {
+
+        synchronized (this) {
+            Long size = lru.remove(variantKey);
+            if (size == null) return;
+            cachedBytes -= size;
+        }
+        delete(variantKey);
+    }
+
+    // 이미 열어 둔 요청은 삭제 후에도 닫을 때까지 읽을 수 있음
+    private void delete(String variantKey) {
+        try {
+            Files.deleteIfExists(cacheDir.resolve(variantKey));
+        } catch (IOException e) {
+            log.warn("변형 이미지 삭제 실패: {}", e.getMessage());
+        }
+    }
+
+    // 재시작 시 기존 캐시 파일을 수정 시각 순으로 LRU 에 적재
+    private void loadExisting() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            files.filter(Files::isRegularFile)
+                    .filter(p -> !p.getFileName().toString().startsWith("."))
+                    .sorted(Comparator.comparingLong(this::lastModified))
+                    .forEach(p -> register(p.getFileName().toString(), p.toFile().length()));
+        }
+    }
+
+    private long lastModified(Path path) {
+        return path.toFile().lastModified();
+    }
+
+    private static Path await(CompletableFuture<Path> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private static String stripExtension(String key) {
+        int dot = key.lastIndexOf('.');
+        return dot > 0 ? key.substring(0, dot) : key;
+    }
+
+    /**
+     * 열어 둔 변형본 파일
+     * 캐시에서 밀려나 파일이 삭제되어도 close 전까지는 같은 내용을 읽을 수 있음
+     * (getInputStream 은 호출마다 처음부터 읽으므로 Range 응답에도 사용 가능)
+     */
+    public static final class Variant extends AbstractResource implements Closeable {
+
+        private final FileChannel channel;
+        private final String fileName;
+        private final long length;
+        private final long lastModified;
+
+        private Variant(FileChannel channel, String fileName, long length, long lastModified) {
+            this.channel = channel;
+            this.fileName = fileName;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        // 파일이 이미 삭제되었으면 null
+        static Variant open(Path path) throws IOException {
+
+            FileChannel channel;
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+
+            try {
+                return new Variant(channel, path.getFileName().toString(), channel.size(),
+                        Files.getLastModifiedTime(path).toMillis());
+            } catch (NoSuchFileException e) {
+                channel.close();
+                return null;
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public String getFilename() {
+            return fileName;
+        }
+
+        @Override
+        public String getDescription() {
+            return "image variant [" + fileName + "]";
+        }
+
+        @Override
+        public boolean exists() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public long contentLength() {
+            return length;
+        }
+
+        @Override
+        public long lastModified() {
+            return lastModified;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new InputStream() {
+
+                private long position;
+
+                @Override
+                public int read() throws IOException {
+                    byte[] one = new byte[1];
+                    return (read(one, 0, 1) < 0) ? -1 : one[0] & 0xff;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    Objects.checkFromIndexSize(off, len, b.length);
+                    if (position >= length) return -1;
+                    if (len == 0) return 0;
+
+                    // 위치 지정 읽기: 채널 위치를 공유하지 않으므로 스트림마다 독립
+                    int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, length - position)), position);
+                    if (n < 0) return -1;
+                    position += n;
+                    return n;
+                }
+
+                @Override
+                public long skip(long n) {
+                    long skipped = Math.max(0, Math.min(n, length - position));
+                    position += skipped;
+                    return skipped;
+                }
+
+                @Override
+                public int available() {
+                    return (int) Math.min(Integer.MAX_VALUE, length - position);
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("변형 이미지 닫기 실패: {}", e.getMessage());
+            }
+        }
+    }
+}
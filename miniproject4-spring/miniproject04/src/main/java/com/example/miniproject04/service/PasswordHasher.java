@@ -0,0 +1,141 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.exception.ApiException;
+import com.example.miniproject04.exception.ErrorCode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * 비밀번호 해시 (PBKDF2-HMAC-SHA512, 사용자마다 임의 salt)
+ * - 저장 형식: pbkdf2-sha512$반복횟수$salt$hash (Base64)
+ *   반복 횟수를 함께 저장하므로 auth.password.iterations 를 올려도 기존 해시 검증 가능
+ *   (needsRehash → 다음 로그인 때 새 횟수로 다시 저장)
+ * - 해시 도입 전(V1 기준 스키마) 평문으로 저장된 비밀번호도 검증, 로그인에 성공하면 해시로 다시 저장
+ * - 계산은 passwordHashExecutor 에서만 실행, 호출 스레드는 결과만 기다림
+ */
+@Component
+public class PasswordHasher {
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA512";
+    private static final String PREFIX = "pbkdf2-sha512";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 512;
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    private final ThreadPoolTaskExecutor executor;
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    // 없는 아이디도 실제 검증과 같은 시간이 걸리도록 비교할 해시 (아이디 존재 여부 노출 방지)
+    private final String dummyHash;
+
+    public PasswordHasher(
+            @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${auth.password.iterations:210000}") int iterations) {
+
+        this.executor = executor;
+        this.iterations = iterations;
+        this.dummyHash = encode("", newSalt(), iterations);
+    }
+
+    public String hash(String raw) {
+        return call(() -> encode(raw, newSalt(), iterations));
+    }
+
+    public boolean matches(String raw, String stored) {
+        return call(() -> verify(raw, stored));
+    }
+
+    /**
+     * 없는 아이디로 로그인한 경우: 항상 false, 걸리는 시간만 실제 검증과 같게
+     */
+    public boolean matchesNothing(String raw) {
+        matches(raw, dummyHash);
+        return false;
+    }
+
+    /**
+     * 현재 설정보다 약한 해시면 true (로그인 성공 시 다시 저장)
+     */
+    public boolean needsRehash(String stored) {
+        String[] parts = stored.split("\\$");
+        return parts.length != 4 || !PREFIX.equals(parts[0]) || Integer.parseInt(parts[1]) < iterations;
+    }
+
+    private <T> T call(Callable<T> task) {
+
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (TaskRejectedException e) {
+            // 큐가 가득 참 → 503
+            throw new ApiException(ErrorCode.LOGIN_BUSY);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 확인이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("비밀번호 확인 실패", e.getCause());
+        }
+    }
+
+    private byte[] newSalt() {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        return salt;
+    }
+
+    private static String encode(String raw, byte[] salt, int iterations) {
+        return PREFIX + "$" + iterations + "$" + ENCODER.encodeToString(salt)
+                + "$" + ENCODER.encodeToString(derive(raw, salt, iterations));
+    }
+
+    private static boolean verify(String raw, String stored) {
+
+        // 해시 도입 전 평문 (상수 시간 비교, needsRehash 가 true 이므로 로그인 후 해시로 교체)
+        if (!stored.startsWith(PREFIX + "$")) {
+            return MessageDigest.isEqual(raw.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) return false;
+
+        byte[] salt = DECODER.decode(parts[2]);
+        byte[] expected = DECODER.decode(parts[3]);
+
+        // 상수 시간 비교
+        return MessageDigest.isEqual(expected, derive(raw, salt, Integer.parseInt(parts[1])));
+    }
+
+    private static byte[] derive(String raw, byte[] salt, int iterations) {
+
+        PBEKeySpec spec = new PBEKeySpec(raw.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
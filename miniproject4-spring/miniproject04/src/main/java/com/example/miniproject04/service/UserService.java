@@ -1,30 +1,44 @@
 package com.example.miniproject04.service;
 
 import com.example.miniproject04.Entity.User;
+import com.example.miniproject04.exception.ApiException;
+import com.example.miniproject04.exception.ErrorCode;
 import com.example.miniproject04.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
 
     // 로그인
-    @Transactional(readOnly = true)
+    // 트랜잭션 없이: login_id 조회(유니크 인덱스)만 짧게 하고, 해시 검증 중에는 커넥션을 잡지 않음
     public User login(String loginId, String password) {
 
+        if (loginId == null || password == null) {
+            throw new ApiException(ErrorCode.LOGIN_FAILED);
+        }
+
         // 사용자 조회
-        User user = userRepository.findByLoginId(loginId)
-                .orElseThrow(() ->
-                        new IllegalArgumentException("아이디 또는 비밀번호가 잘못되었습니다.")
-                );
-
-        // 비밀번호 검증
-        if (!user.getPassword().equals(password)) {
-            throw new IllegalArgumentException("아이디 또는 비밀번호가 잘못되었습니다.");
+        User user = userRepository.findByLoginId(loginId).orElse(null);
+
+        // 비밀번호 검증 (없는 아이디도 같은 시간이 걸리도록 해시 계산)
+        boolean matched = (user == null)
+                ? passwordHasher.matchesNothing(password)
+                : passwordHasher.matches(password, user.getPassword());
+
+        if (!matched) {
+            throw new ApiException(ErrorCode.LOGIN_FAILED);
+        }
+
+        // 반복 횟수를 올린 뒤 처음 로그인하면 새 설정으로 다시 저장
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHasher.hash(password));
+            userRepository.save(user);
         }
 
         // 로그인 성공
@@ -33,27 +47,26 @@ public class UserService {
 
 
     // 회원 가입
-    @Transactional
     public User signup(String loginId, String password) {
 
         // 필수값 검증
         if (loginId == null || loginId.trim().isEmpty()
                 || password == null || password.trim().isEmpty()) {
-            throw new IllegalArgumentException("아이디와 비밀번호를 다시 확인해주세요.");
-        }
-
-        // 아이디 중복 체크
-        if (userRepository.findByLoginId(loginId).isPresent()) {
-            throw new IllegalArgumentException("이미 사용 중인 아이디입니다.");
+            throw new ApiException(ErrorCode.INVALID_SIGNUP);
         }
 
-        // User 엔티티 생성 및 저장
+        // User 엔티티 생성 (해시는 트랜잭션 밖에서 미리 계산)
         User user = new User();
         user.setLoginId(loginId);
-        user.setPassword(password);
+        user.setPassword(passwordHasher.hash(password));
 
-        return userRepository.save(user);
+        // 아이디 중복은 login_id 유니크 제약으로 판단 (INSERT 한 번, 동시 가입도 한 명만 성공)
+        try {
+            return userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new ApiException(ErrorCode.DUPLICATE_LOGIN_ID);
+        }
     }
-    
+
 
 }
@@ -0,0 +1,99 @@
+package com.example.miniproject04.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 이미지 바이트 저장소
+ * - key 는 "/images/" 뒤에 오는 파일명 (예: book_1_uuid.png)
+ * - 구현체: LocalImageStore(파일시스템), InMemoryImageStore(테스트용)
+ */
+public interface ImageStore {
+
+    /**
+     * 스트림을 끝까지 읽어 저장 (같은 key 가 있으면 덮어씀)
+     * @return 저장된 바이트 수
+     */
+    long put(String key, InputStream in) throws IOException;
+
+    /**
+     * 내용 주소 저장: 쓰는 동안 SHA-256 을 계산해 key = digest + extension 으로 저장
+     * 같은 내용이 이미 있으면 새 파일을 만들지 않음 (created = false)
+     * 이때 기존 파일의 수정 시각을 갱신 (고아 정리가 방금 재사용된 파일을 지우지 않도록)
+     */
+    Stored putContent(InputStream in, String extension) throws IOException;
+
+    /**
+     * 저장된 이미지 조회 (없으면 empty)
+     */
+    Optional<Resource> get(String key);
+
+    /**
+     * 삭제 (없으면 false)
+     */
+    boolean delete(String key) throws IOException;
+
+    /**
+     * 수정 시각이 cutoff 이전인 경우에만 삭제 (없거나 최근 파일이면 false)
+     * putContent 의 재사용(수정 시각 갱신)과 동시에 실행돼도 재사용된 파일은 남김
+     */
+    boolean deleteIfOlderThan(String key, Instant cutoff) throws IOException;
+
+    /**
+     * 크기/수정 시각 조회 (없으면 empty)
+     */
+    Optional<Stat> stat(String key);
+
+    /**
+     * 저장된 파일 수/총 크기 (전체를 훑으므로 자주 호출하지 말 것)
+     */
+    Usage usage() throws IOException;
+
+    /**
+     * 저장된 파일을 구간 단위로 조회 (고아 파일 정리용, 전체 목록을 메모리에 올리지 않음)
+     * cursor 는 처음엔 null, 반환된 next 를 다음 호출에 넘김 (next 가 null 이면 한 바퀴 끝)
+     * 구간 경계 때문에 limit 보다 조금 더 돌려줄 수 있음
+     */
+    Listing list(String cursor, int limit) throws IOException;
+
+    record Stat(long size, Instant lastModified) {
+    }
+
+    record Entry(String key, Instant lastModified) {
+    }
+
+    record Listing(List<Entry> entries, String next) {
+    }
+
+    record Usage(long files, long bytes) {
+    }
+
+    record Stored(String key, String digest, long size, boolean created) {
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 경로 조작 방지: 파일명 한 단계만 허용
+     */
+    static String checkKey(String key) {
+        if (key == null || key.isEmpty() || key.startsWith(".")
+                || key.contains("/") || key.contains("\\")) {
+            throw new IllegalArgumentException("잘못된 이미지 경로입니다.");
+        }
+        return key;
+    }
+}
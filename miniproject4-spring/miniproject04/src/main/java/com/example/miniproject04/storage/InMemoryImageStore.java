@@ -0,0 +1,118 @@
+package com.example.miniproject04.storage;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 메모리 이미지 저장소 (테스트/로컬 실험용)
+ * image.store.type=memory 일 때만 등록
+ */
+@Component
+@ConditionalOnProperty(name = "image.store.type", havingValue = "memory")
+public class InMemoryImageStore implements ImageStore {
+
+    private record Entry(byte[] bytes, Instant lastModified) {
+    }
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public long put(String key, InputStream in) throws IOException {
+        ImageStore.checkKey(key);
+        byte[] bytes = in.readAllBytes();
+        entries.put(key, new Entry(bytes, Instant.now()));
+        return bytes.length;
+    }
+
+    @Override
+    public Stored putContent(InputStream in, String extension) throws IOException {
+        byte[] bytes = in.readAllBytes();
+        String digest = HexFormat.of().formatHex(ImageStore.sha256().digest(bytes));
+        String key = digest + extension;
+
+        Entry previous = entries.putIfAbsent(key, new Entry(bytes, Instant.now()));
+        if (previous != null) {
+            entries.replace(key, previous, new Entry(previous.bytes(), Instant.now()));
+        }
+        return new Stored(key, digest, bytes.length, previous == null);
+    }
+
+    @Override
+    public boolean deleteIfOlderThan(String key, Instant cutoff) {
+        boolean[] deleted = new boolean[1];
+        entries.computeIfPresent(key, (k, entry) -> {
+            if (!entry.lastModified().isBefore(cutoff)) return entry;
+            deleted[0] = true;
+            return null;
+        });
+        return deleted[0];
+    }
+
+    @Override
+    public Optional<Resource> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) return Optional.empty();
+
+        return Optional.of(new ByteArrayResource(entry.bytes()) {
+            @Override
+            public String getFilename() {
+                return key;
+            }
+
+            @Override
+            public long lastModified() {
+                return entry.lastModified().toEpochMilli();
+            }
+        });
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return entries.remove(key) != null;
+    }
+
+    @Override
+    public Optional<Stat> stat(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? Optional.empty()
+                : Optional.of(new Stat(entry.bytes().length, entry.lastModified()));
+    }
+
+    @Override
+    public Usage usage() {
+        long bytes = entries.values().stream().mapToLong(e -> e.bytes().length).sum();
+        return new Usage(entries.size(), bytes);
+    }
+
+    // cursor = 마지막으로 돌려준 key (key 순)
+    @Override
+    public Listing list(String cursor, int limit) {
+        List<String> keys = entries.keySet().stream()
+                .filter(key -> cursor == null || key.compareTo(cursor) > 0)
+                .sorted()
+                .limit(limit + 1L)
+                .toList();
+
+        List<ImageStore.Entry> page = new ArrayList<>();
+        for (String key : keys.subList(0, Math.min(limit, keys.size()))) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                page.add(new ImageStore.Entry(key, entry.lastModified()));
+            }
+        }
+        String next = keys.size() > limit ? keys.get(limit - 1) : null;
+        return new Listing(page, next);
+    }
+}
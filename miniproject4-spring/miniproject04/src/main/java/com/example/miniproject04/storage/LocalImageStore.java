@@ -0,0 +1,280 @@
+package com.example.miniproject04.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 파일시스템 이미지 저장소
+ * - root/ab/cd/파일명 형태로 key 해시 기준 2단계 샤딩 (디렉터리당 파일 수 제한)
+ * - 임시 파일에 쓴 뒤 원자적 rename (putContent 는 root/.tmp 사용, 같은 파일시스템)
+ * - 샤딩 이전에 root 바로 아래 저장된 파일도 조회/삭제 가능
+ */
+@Component
+@ConditionalOnProperty(name = "image.store.type", havingValue = "local", matchIfMissing = true)
+public class LocalImageStore implements ImageStore {
+
+    // 샤드 디렉터리 이름 (hex 2자리)
+    private static final Pattern SHARD = Pattern.compile("[0-9a-f]{2}");
+
+    private final Path root;
+
+    public LocalImageStore(@Value("${image.store.root}") String root) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        Files.createDirectories(this.root);
+    }
+
+    @Override
+    public long put(String key, InputStream in) throws IOException {
+
+        Path target = shardPath(key);
+        Path dir = target.getParent();
+        Files.createDirectories(dir);
+
+        Path temp = Files.createTempFile(dir, ".upload-", ".part");
+        try {
+            long size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            moveAtomically(temp, target);
+            return size;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Stored putContent(InputStream in, String extension) throws IOException {
+
+        Path tempDir = root.resolve(".tmp");
+        Files.createDirectories(tempDir);
+
+        Path temp = Files.createTempFile(tempDir, ".upload-", ".part");
+        try {
+            // 임시 파일에 쓰면서 digest 계산 (한 번의 스트림 패스)
+            MessageDigest md = ImageStore.sha256();
+            long size;
+            try (InputStream digestIn = new DigestInputStream(in, md)) {
+                size = Files.copy(digestIn, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String digest = HexFormat.of().formatHex(md.digest());
+            String key = digest + extension;
+            Path target = shardPath(key);
+
+            // 같은 내용이 이미 있으면 임시 파일만 버림
+            // (수정 시각 갱신 직전에 삭제되었으면 새로 저장)
+            if (Files.isRegularFile(target)) {
+                try {
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                    return new Stored(key, digest, size, false);
+                } catch (NoSuchFileException e) {
+                    // 아래에서 새로 저장
+                }
+            }
+
+            Files.createDirectories(target.getParent());
+            moveAtomically(temp, target);
+            return new Stored(key, digest, size, true);
+
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<Resource> get(String key) {
+        return locate(key).map(FileSystemResource::new);
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        Optional<Path> path = locate(key);
+        return path.isPresent() && Files.deleteIfExists(path.get());
+    }
+
+    /**
+     * 먼저 임시 이름으로 옮긴 뒤(원자적) 수정 시각을 확인
+     * 옮기기 전에 putContent 가 재사용했으면 최근 시각이므로 되돌림,
+     * 옮긴 뒤에 putContent 가 왔으면 그쪽이 새 파일을 만듦
+     */
+    @Override
+    public boolean deleteIfOlderThan(String key, Instant cutoff) throws IOException {
+
+        Path path = locate(key).orElse(null);
+        if (path == null) return false;
+
+        Path tempDir = root.resolve(".tmp");
+        Files.createDirectories(tempDir);
+        Path trash = Files.createTempFile(tempDir, ".delete-", ".part");
+
+        try {
+            try {
+                moveAtomically(path, trash);
+            } catch (NoSuchFileException e) {
+                return false;
+            }
+
+            if (Files.getLastModifiedTime(trash).toInstant().isBefore(cutoff)) {
+                return true;
+            }
+
+            try {
+                Files.move(trash, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // 그 사이 putContent 가 같은 내용으로 새로 저장함
+            }
+            return false;
+
+        } finally {
+            Files.deleteIfExists(trash);
+        }
+    }
+
+    @Override
+    public Optional<Stat> stat(String key) {
+        return locate(key).flatMap(path -> {
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                return Optional.of(new Stat(attrs.size(), attrs.lastModifiedTime().toInstant()));
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    @Override
+    public Usage usage() throws IOException {
+
+        long[] totals = new long[2];
+
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                // 쓰는 중인 임시 파일(.tmp)은 제외
+                return dir.getFileName().toString().startsWith(".") && !dir.equals(root)
+                        ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile()) {
+                    totals[0]++;
+                    totals[1] += attrs.size();
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                // 집계 중 삭제된 파일 등은 건너뜀
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        return new Usage(totals[0], totals[1]);
+    }
+
+    /**
+     * cursor = 마지막으로 다 읽은 샤드 ("ab/cd"), 샤드 디렉터리 하나씩 통째로 읽음
+     * 샤딩 이전의 평면 파일(root 바로 아래)은 첫 구간에 포함
+     */
+    @Override
+    public Listing list(String cursor, int limit) throws IOException {
+
+        List<Entry> entries = new ArrayList<>();
+        if (cursor == null) {
+            listFiles(root, entries);
+        }
+
+        for (String top : shardDirs(root)) {
+            if (cursor != null && top.compareTo(cursor.substring(0, 2)) < 0) continue;
+
+            for (String sub : shardDirs(root.resolve(top))) {
+                String shard = top + "/" + sub;
+                if (cursor != null && shard.compareTo(cursor) <= 0) continue;
+
+                listFiles(root.resolve(top).resolve(sub), entries);
+                if (entries.size() >= limit) {
+                    return new Listing(entries, shard);
+                }
+            }
+        }
+        return new Listing(entries, null);
+    }
+
+    private static List<String> shardDirs(Path dir) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, Files::isDirectory)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                if (SHARD.matcher(name).matches()) names.add(name);
+            }
+        }
+        names.sort(null);
+        return names;
+    }
+
+    // 임시 파일(. 으로 시작)은 제외
+    private static void listFiles(Path dir, List<Entry> entries) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                if (name.startsWith(".")) continue;
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (attrs.isRegularFile()) {
+                        entries.add(new Entry(name, attrs.lastModifiedTime().toInstant()));
+                    }
+                } catch (NoSuchFileException e) {
+                    // 읽는 중 삭제된 파일
+                }
+            }
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    // 샤딩 경로 → (없으면) 기존 평면 경로 순으로 탐색
+    private Optional<Path> locate(String key) {
+        Path sharded = shardPath(key);
+        if (Files.isRegularFile(sharded)) {
+            return Optional.of(sharded);
+        }
+        Path legacy = root.resolve(key);
+        return Files.isRegularFile(legacy) ? Optional.of(legacy) : Optional.empty();
+    }
+
+    // key 의 SHA-256 앞 2바이트로 "ab/cd" 디렉터리 결정
+    Path shardPath(String key) {
+        ImageStore.checkKey(key);
+        byte[] hash = ImageStore.sha256().digest(key.getBytes(StandardCharsets.UTF_8));
+        String hex = HexFormat.of().formatHex(hash, 0, 2);
+        return root.resolve(hex.substring(0, 2)).resolve(hex.substring(2, 4)).resolve(key);
+    }
+
+    private static void moveAtomically(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
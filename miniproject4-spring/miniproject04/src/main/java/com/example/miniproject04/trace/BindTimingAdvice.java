@@ -0,0 +1,57 @@
+package com.example.miniproject04.trace;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * @RequestBody JSON 바인딩 시간 측정
+ * (trace.enabled=true 인 경우에만 등록)
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "trace.enabled", havingValue = "true")
+public class BindTimingAdvice extends RequestBodyAdviceAdapter {
+
+    private static final ThreadLocal<Long> START = new ThreadLocal<>();
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return RequestTrace.current() != null;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter,
+                                           Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        START.set(RequestTrace.current().enter(RequestTrace.Phase.BIND));
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        finish();
+        return body;
+    }
+
+    @Override
+    public Object handleEmptyBody(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                  Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        finish();
+        return body;
+    }
+
+    private static void finish() {
+        Long start = START.get();
+        RequestTrace trace = RequestTrace.current();
+        if (start != null && trace != null) {
+            trace.exit(RequestTrace.Phase.BIND, start);
+        }
+        START.remove();
+    }
+}
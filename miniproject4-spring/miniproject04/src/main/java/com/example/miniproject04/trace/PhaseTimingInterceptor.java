@@ -0,0 +1,32 @@
+package com.example.miniproject04.trace;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * 프록시된 빈의 메서드 호출 시간을 해당 단계에 누적
+ */
+public class PhaseTimingInterceptor implements MethodInterceptor {
+
+    private final RequestTrace.Phase phase;
+
+    public PhaseTimingInterceptor(RequestTrace.Phase phase) {
+        this.phase = phase;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+
+        RequestTrace trace = RequestTrace.current();
+        if (trace == null) {
+            return invocation.proceed();
+        }
+
+        long start = trace.enter(phase);
+        try {
+            return invocation.proceed();
+        } finally {
+            trace.exit(phase, start);
+        }
+    }
+}
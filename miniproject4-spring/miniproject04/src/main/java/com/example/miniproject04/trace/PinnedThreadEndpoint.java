@@ -0,0 +1,30 @@
+package com.example.miniproject04.trace;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 가상 스레드 피닝 조회 (관리 포트: GET /actuator/pinnedthreads)
+ */
+@Endpoint(id = "pinnedthreads")
+public class PinnedThreadEndpoint {
+
+    private final PinnedThreadLog pinnedThreadLog;
+
+    public PinnedThreadEndpoint(PinnedThreadLog pinnedThreadLog) {
+        this.pinnedThreadLog = pinnedThreadLog;
+    }
+
+    @ReadOperation
+    public Map<String, Object> pinnedThreads() {
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threshold_ms", pinnedThreadLog.threshold().toMillis());
+        result.put("recorded", pinnedThreadLog.recorded());
+        result.put("events", pinnedThreadLog.recent());
+        return result;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.miniproject04.trace;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 가상 스레드 피닝 기록 (JFR jdk.VirtualThreadPinned 이벤트를 프로세스 안에서 구독)
+ * - synchronized 블록/네이티브 프레임 안에서 대기하면 캐리어 스레드를 놓지 못함 (JDBC 드라이버, 커넥션 풀 등)
+ * - threshold 이상 붙잡힌 경우만 기록: 메트릭(jvm.threads.virtual.pinned) + 최근 항목 링 버퍼
+ * - 같은 호출 위치는 처음 한 번만 스택을 로그로 출력
+ */
+public class PinnedThreadLog {
+
+    private static final Logger log = LoggerFactory.getLogger(PinnedThreadLog.class);
+
+    static final String EVENT = "jdk.VirtualThreadPinned";
+
+    public record Entry(
+            Instant at,
+            @JsonProperty("duration_ms") double durationMs,
+            String thread,
+            List<String> stack
+    ) {
+    }
+
+    private final Duration threshold;
+    private final int stackDepth;
+    private final Timer pinned;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+
+    private final Entry[] buffer;
+    private int next;
+    private long recorded;
+
+    private RecordingStream stream;
+
+    public PinnedThreadLog(Duration threshold, int capacity, int stackDepth, MeterRegistry registry) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity 는 1 이상이어야 합니다.");
+        }
+        this.threshold = threshold;
+        this.stackDepth = stackDepth;
+        this.buffer = new Entry[capacity];
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("캐리어 스레드에 고정된 채 대기한 가상 스레드")
+                .register(registry);
+    }
+
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("가상 스레드 피닝 기록 시작 ({}ms 이상)", threshold.toMillis());
+    }
+
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public Duration threshold() {
+        return threshold;
+    }
+
+    void onPinned(RecordedEvent event) {
+
+        List<String> stack = frames(event);
+        Duration duration = event.getDuration();
+        String thread = (event.getThread() == null) ? "?" : event.getThread().getJavaName();
+
+        pinned.record(duration);
+        add(new Entry(event.getStartTime(), duration.toNanos() / 1_000_000.0, thread, stack));
+
+        if (reported.add(String.join("|", stack))) {
+            log.warn("가상 스레드 피닝 {}ms ({})\n\tat {}",
+                    duration.toMillis(), thread, String.join("\n\tat ", stack));
+        }
+    }
+
+    // 가상 스레드 park 내부 프레임은 빼고 호출한 쪽 프레임부터
+    private List<String> frames(RecordedEvent event) {
+
+        List<String> result = new ArrayList<>(stackDepth);
+        if (event.getStackTrace() == null) return result;
+
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (result.isEmpty() && (type.startsWith("jdk.internal.") || type.startsWith("java.lang.VirtualThread")
+                    || type.equals("java.util.concurrent.locks.LockSupport"))) {
+                continue;
+            }
+            result.add(type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber());
+            if (result.size() == stackDepth) break;
+        }
+        return result;
+    }
+
+    private synchronized void add(Entry entry) {
+        buffer[next] = entry;
+        next = (next + 1) % buffer.length;
+        recorded++;
+    }
+
+    /**
+     * 최근 항목부터 반환
+     */
+    public synchronized List<Entry> recent() {
+        List<Entry> result = new ArrayList<>(buffer.length);
+        for (int i = 1; i <= buffer.length; i++) {
+            Entry entry = buffer[(next - i + buffer.length) % buffer.length];
+            if (entry == null) break;
+            result.add(entry);
+        }
+        return result;
+    }
+
+    /**
+     * 기동 후 기록된 전체 건수 (버퍼에서 밀려난 것 포함)
+     */
+    public synchronized long recorded() {
+        return recorded;
+    }
+}
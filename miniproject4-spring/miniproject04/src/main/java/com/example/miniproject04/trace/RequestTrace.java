@@ -0,0 +1,101 @@
+package com.example.miniproject04.trace;
+
+import java.util.Locale;
+
+/**
+ * 요청 1건의 단계별 소요 시간 (요청 스레드의 ThreadLocal 에 보관)
+ * - 트레이싱이 꺼져 있거나 요청 스레드가 아니면 current() 가 null → 기록 생략
+ * - 같은 단계가 중첩 호출되면(서비스 → 서비스) 바깥 호출 시간만 합산
+ */
+public final class RequestTrace {
+
+    public enum Phase {
+        BIND("bind"),      // 요청 JSON 바인딩
+        SERVICE("svc"),    // 서비스 호출 (트랜잭션 커밋 포함, sql/img 시간 포함)
+        SQL("sql"),        // JDBC 실행
+        IMAGE("img");      // 이미지 저장소/변형본 I/O
+
+        private final String metric;
+
+        Phase(String metric) {
+            this.metric = metric;
+        }
+    }
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] depth = new int[PHASES.length];
+    private int sqlCount;
+
+    private RequestTrace() {
+    }
+
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    static RequestTrace begin() {
+        RequestTrace trace = new RequestTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 단계 시작 (이미 같은 단계 안이면 -1)
+     */
+    public long enter(Phase phase) {
+        return depth[phase.ordinal()]++ > 0 ? -1 : System.nanoTime();
+    }
+
+    public void exit(Phase phase, long start) {
+        depth[phase.ordinal()]--;
+        if (start >= 0) {
+            nanos[phase.ordinal()] += System.nanoTime() - start;
+        }
+    }
+
+    public void sqlExecuted(long elapsedNanos) {
+        nanos[Phase.SQL.ordinal()] += elapsedNanos;
+        sqlCount++;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public double millis(Phase phase) {
+        return nanos[phase.ordinal()] / 1_000_000.0;
+    }
+
+    public int getSqlCount() {
+        return sqlCount;
+    }
+
+    /**
+     * Server-Timing 헤더 값
+     * 예) bind;dur=0.4, svc;dur=12.1, sql;dur=3.2;desc="3 queries", img;dur=0.0, total;dur=14.0
+     */
+    String serverTiming() {
+        StringBuilder sb = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            sb.append(phase.metric).append(";dur=").append(format(millis(phase)));
+            if (phase == Phase.SQL) {
+                sb.append(";desc=\"").append(sqlCount).append(" queries\"");
+            }
+            sb.append(", ");
+        }
+        sb.append("total;dur=").append(format(elapsedNanos() / 1_000_000.0));
+        return sb.toString();
+    }
+
+    private static String format(double ms) {
+        return String.format(Locale.ROOT, "%.1f", ms);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.miniproject04.trace;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 요청별 단계 시간 측정
+ * - 기준 시간을 넘긴 요청은 SlowRequestLog 에 기록
+ * - serverTiming 이면 Server-Timing 헤더로도 반환 (SQL 횟수/시간이 노출되므로 로컬 확인용으로만 켬)
+ */
+public class RequestTraceFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    private final SlowRequestLog slowRequestLog;
+    private final long slowThresholdNanos;
+    private final boolean serverTiming;
+
+    public RequestTraceFilter(SlowRequestLog slowRequestLog, Duration slowThreshold, boolean serverTiming) {
+        this.slowRequestLog = slowRequestLog;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        RequestTrace trace = RequestTrace.begin();
+        TimingResponse timingResponse = serverTiming ? new TimingResponse(response, trace) : null;
+
+        try {
+            filterChain.doFilter(request, (timingResponse != null) ? timingResponse : response);
+        } finally {
+            // 본문 없는 응답(204, 304 등)은 여기서 헤더 추가
+            if (timingResponse != null) {
+                timingResponse.addTimingHeader();
+            }
+            RequestTrace.end();
+
+            if (trace.elapsedNanos() >= slowThresholdNanos) {
+                slowRequestLog.add(new SlowRequestLog.Entry(
+                        Instant.now(),
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        response.getStatus(),
+                        trace.elapsedNanos() / 1_000_000.0,
+                        trace.millis(RequestTrace.Phase.BIND),
+                        trace.millis(RequestTrace.Phase.SERVICE),
+                        trace.millis(RequestTrace.Phase.SQL),
+                        trace.getSqlCount(),
+                        trace.millis(RequestTrace.Phase.IMAGE)
+                ));
+            }
+        }
+    }
+
+    /**
+     * 헤더는 응답이 커밋되기 전에만 붙일 수 있으므로
+     * 본문을 쓰기 시작하는 시점(getOutputStream/getWriter/flush)에 추가
+     */
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTrace trace;
+        private boolean headerAdded;
+
+        TimingResponse(HttpServletResponse response, RequestTrace trace) {
+            super(response);
+            this.trace = trace;
+        }
+
+        void addTimingHeader() {
+            if (headerAdded || isCommitted()) return;
+            headerAdded = true;
+            setHeader(SERVER_TIMING, trace.serverTiming());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addTimingHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addTimingHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addTimingHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addTimingHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addTimingHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addTimingHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.miniproject04.trace;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 느린 쿼리 로그 (기준 시간 이상 걸린 SQL 만 기록)
+ * - 같은 형태(shape)의 쿼리는 보고 주기마다 첫 건만 바인드 값과 함께 기록하고
+ *   나머지는 건수/합계/최대 시간으로 모아 주기마다 한 줄로 출력
+ * - 로그는 SLOW_SQL 로거 → 운영 프로필에서는 비동기 appender 로 출력
+ */
+public class SlowQueryLog implements QueryExecutionListener, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger("SLOW_SQL");
+
+    // 보관할 shape 최대 개수 (동적 SQL 로 무한히 늘어나지 않도록)
+    private static final int MAX_SHAPES = 1000;
+    private static final int MAX_BIND_LENGTH = 100;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+    private final long thresholdMillis;
+    private final long reportIntervalMillis;
+    private final ConcurrentMap<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService reporter;
+
+    public SlowQueryLog(Duration threshold, Duration reportInterval) {
+        this.thresholdMillis = threshold.toMillis();
+        this.reportIntervalMillis = reportInterval.toMillis();
+        this.reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "slow-query-report");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // 주기 보고 예약 (빈 init-method, 생성자에서 예약하면 덜 만들어진 객체가 보고 스레드에 보일 수 있음)
+    public void start() {
+        reporter.scheduleAtFixedRate(this::report, reportIntervalMillis, reportIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed < thresholdMillis) return;
+
+        for (QueryInfo query : queryInfoList) {
+            String shape = shape(query.getQuery());
+
+            ShapeStats stats = shapes.get(shape);
+            if (stats == null) {
+                if (shapes.size() >= MAX_SHAPES) {
+                    log.warn("slow query {}ms (shape 한도 초과, 집계 제외) [{}]", elapsed, shape);
+                    continue;
+                }
+                stats = shapes.computeIfAbsent(shape, k -> new ShapeStats());
+            }
+
+            // 이번 주기의 첫 건만 바인드 값과 함께 바로 기록
+            if (stats.record(elapsed)) {
+                log.warn("slow query {}ms [{}] binds={}", elapsed, query.getQuery(), binds(shape, query));
+            }
+        }
+    }
+
+    /**
+     * 주기 보고: 같은 shape 가 2번 이상 느렸던 경우만 합계 출력
+     */
+    void report() {
+        for (Map.Entry<String, ShapeStats> entry : shapes.entrySet()) {
+            long[] snapshot = entry.getValue().reset();
+            long count = snapshot[0];
+            if (count > 1) {
+                log.warn("slow query x{} total={}ms max={}ms [{}]",
+                        count, snapshot[1], snapshot[2], entry.getKey());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        reporter.shutdown();
+        report();
+    }
+
+    // 공백 정리 + IN (?, ?, ?) 길이 차이 무시
+    static String shape(String sql) {
+        String s = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(s).replaceAll("(?...)");
+    }
+
+    // 비밀번호 컬럼이 있는 쿼리는 값을 남기지 않음
+    private static String binds(String shape, QueryInfo query) {
+        if (shape.toLowerCase().contains("password")) {
+            return "[masked]";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (List<ParameterSetOperation> params : query.getParametersList()) {
+            sb.append('[');
+            for (int i = 0; i < params.size(); i++) {
+                Object[] args = params.get(i).getArgs();
+                Object value = args.length > 1 ? args[1] : null;
+                if (i > 0) sb.append(", ");
+                sb.append(truncate(String.valueOf(value)));
+            }
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_BIND_LENGTH ? value : value.substring(0, MAX_BIND_LENGTH) + "...";
+    }
+
+    private static final class ShapeStats {
+
+        private long count;
+        private long totalMillis;
+        private long maxMillis;
+
+        // 이번 주기의 첫 건이면 true
+        synchronized boolean record(long elapsed) {
+            count++;
+            totalMillis += elapsed;
+            maxMillis = Math.max(maxMillis, elapsed);
+            return count == 1;
+        }
+
+        synchronized long[] reset() {
+            long[] snapshot = {count, totalMillis, maxMillis};
+            count = 0;
+            totalMillis = 0;
+            maxMillis = 0;
+            return snapshot;
+        }
+    }
+}
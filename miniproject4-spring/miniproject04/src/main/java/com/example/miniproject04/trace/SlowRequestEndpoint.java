@@ -0,0 +1,33 @@
+package com.example.miniproject04.trace;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 느린 요청 조회 (관리 포트: GET /actuator/slowrequests)
+ */
+@Endpoint(id = "slowrequests")
+public class SlowRequestEndpoint {
+
+    private final SlowRequestLog slowRequestLog;
+    private final Duration threshold;
+
+    public SlowRequestEndpoint(SlowRequestLog slowRequestLog, Duration threshold) {
+        this.slowRequestLog = slowRequestLog;
+        this.threshold = threshold;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowRequests() {
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threshold_ms", threshold.toMillis());
+        result.put("recorded", slowRequestLog.recorded());
+        result.put("requests", slowRequestLog.recent());
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.miniproject04.trace;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 느린 요청 링 버퍼 (고정 크기, 가득 차면 가장 오래된 항목부터 덮어씀)
+ */
+public class SlowRequestLog {
+
+    public record Entry(
+            Instant at,
+            String method,
+            String uri,
+            int status,
+            @JsonProperty("total_ms") double totalMs,
+            @JsonProperty("bind_ms") double bindMs,
+            @JsonProperty("service_ms") double serviceMs,
+            @JsonProperty("sql_ms") double sqlMs,
+            @JsonProperty("sql_count") int sqlCount,
+            @JsonProperty("image_ms") double imageMs
+    ) {
+    }
+
+    private final Entry[] buffer;
+    private int next;
+    private long recorded;
+
+    public SlowRequestLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity 는 1 이상이어야 합니다.");
+        }
+        this.buffer = new Entry[capacity];
+    }
+
+    public synchronized void add(Entry entry) {
+        buffer[next] = entry;
+        next = (next + 1) % buffer.length;
+        recorded++;
+    }
+
+    /**
+     * 최근 항목부터 반환
+     */
+    public synchronized List<Entry> recent() {
+        List<Entry> result = new ArrayList<>(buffer.length);
+        for (int i = 1; i <= buffer.length; i++) {
+            Entry entry = buffer[(next - i + buffer.length) % buffer.length];
+            if (entry == null) break;
+            result.add(entry);
+        }
+        return result;
+    }
+
+    /**
+     * 기동 후 기록된 전체 건수 (버퍼에서 밀려난 것 포함)
+     */
+    public synchronized long recorded() {
+        return recorded;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.miniproject04.trace;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * JDBC 실행 시간/횟수를 현재 요청의 RequestTrace 에 누적
+ * (hibernate.session.events.auto 로 세션마다 생성, 세션은 한 스레드에서만 사용)
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    private long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.sqlExecuted(System.nanoTime() - start);
+        }
+    }
+}
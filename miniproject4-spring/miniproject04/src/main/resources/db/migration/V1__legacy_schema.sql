@@ -0,0 +1,27 @@
+-- 기준 스키마: 기존 ddl-auto: create 가 처음 엔티티(IDENTITY id, version/status 없음)로 만들던 구조
+-- 이력 테이블이 없는 기존 DB 는 이 버전으로 간주(baseline)하고 V2 부터 적용, 새 DB 는 V1 부터 적용
+-- 엔티티를 바꾸면 적용된 파일은 고치지 말고 다음 번호의 V{n}__...sql 을 추가 (시작 시 ddl-auto: validate 로 엔티티와 대조)
+
+create table users (
+    user_id  bigint generated by default as identity,
+    login_id varchar(255) not null,
+    password varchar(255) not null,
+    primary key (user_id)
+);
+
+create table book (
+    book_id     bigint generated by default as identity,
+    user_id     bigint not null,
+    description varchar(2000) not null,
+    title       varchar(255) not null,
+    primary key (book_id),
+    constraint fk_book_user foreign key (user_id) references users (user_id)
+);
+
+create table generated_image (
+    book_id   bigint unique,
+    img_id    bigint generated by default as identity,
+    image_url varchar(1000) not null,
+    primary key (img_id),
+    constraint fk_generated_image_book foreign key (book_id) references book (book_id)
+);
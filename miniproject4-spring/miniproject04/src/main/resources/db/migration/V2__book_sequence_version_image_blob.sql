@@ -0,0 +1,33 @@
+-- 기준 스키마 이후 변경
+
+-- 로그인 아이디 중복 가입 방지 (기존 DB 에 중복이 있으면 여기서 실패 → 정리 후 다시 기동)
+alter table users add constraint uk_users_login_id unique (login_id);
+
+-- 책 id: IDENTITY → 시퀀스 (Book @SequenceGenerator allocationSize 50 과 맞춤, 일괄 등록 INSERT 배치용)
+-- pooled 옵티마이저는 받은 값 - 49 부터 쓰므로 기존 최대 id + 50 에서 시작
+alter table book alter column book_id drop identity;
+create sequence book_seq start with 1 increment by 50;
+alter sequence book_seq restart with (select coalesce(max(book_id), 0) + 50 from book);
+
+-- 낙관적 잠금 / ETag 버전
+alter table book add column version bigint default 0 not null;
+alter table book alter column version drop default;
+
+-- 이미지 다운로드 작업 상태 (기존 행은 이미 이미지가 있으므로 READY), PENDING 동안 image_url 은 null 가능
+alter table generated_image alter column image_url set null;
+alter table generated_image add column status enum ('FAILED', 'PENDING', 'READY') default 'READY' not null;
+alter table generated_image alter column status drop default;
+
+-- 내용 주소 저장: 이미지 파일의 SHA-256 (기존 행은 null, 경로 기준으로 관리)
+alter table generated_image add column content_hash varchar(64);
+
+-- 파일 삭제/고아 정리 시 image_url 로 참조 여부 확인
+create index idx_generated_image_url on generated_image (image_url);
+
+create table image_blob (
+    digest    varchar(64) not null,
+    store_key varchar(100) not null,
+    size      bigint not null,
+    ref_count integer not null,
+    primary key (digest)
+);
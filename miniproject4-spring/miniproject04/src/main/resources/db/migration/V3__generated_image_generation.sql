@@ -0,0 +1,3 @@
+-- 이미지 다운로드 작업 세대: 작업을 등록할 때마다 +1, 완료/실패는 세대가 같을 때만 반영
+alter table generated_image add column generation bigint default 0 not null;
+alter table generated_image alter column generation drop default;
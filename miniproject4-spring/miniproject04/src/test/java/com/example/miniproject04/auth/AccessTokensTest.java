@@ -0,0 +1,89 @@
+package com.example.miniproject04.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로그인 토큰 검증 테스트
+ * 서명/내용이 바뀌었거나, 다른 키로 서명했거나, 만료된 토큰은 null
+ */
+class AccessTokensTest {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final AccessTokens accessTokens = at(NOW);
+
+    @Test
+    void issuedTokenIsVerified() {
+        AccessTokens.Issued issued = accessTokens.issue(42L);
+
+        assertThat(accessTokens.verify(issued.token())).isEqualTo(42L);
+        assertThat(issued.expiresAt()).isEqualTo(NOW.plus(TTL).getEpochSecond());
+    }
+
+    @Test
+    void tamperedUserIdIsRejected() {
+        String token = accessTokens.issue(42L).token();
+
+        assertThat(accessTokens.verify("43" + token.substring(2))).isNull();
+    }
+
+    @Test
+    void extendedExpiryIsRejected() {
+        String[] parts = accessTokens.issue(42L).token().split("\\.");
+        long extended = Long.parseLong(parts[1]) + TTL.toSeconds();
+
+        assertThat(accessTokens.verify(parts[0] + "." + extended + "." + parts[2])).isNull();
+    }
+
+    @Test
+    void tamperedSignatureIsRejected() {
+        String token = accessTokens.issue(42L).token();
+        int signature = token.lastIndexOf('.') + 1;
+        // 마지막 글자는 패딩 비트가 섞여 있으므로 서명 첫 글자를 바꿈
+        char first = token.charAt(signature);
+        String flipped = token.substring(0, signature) + (first == 'A' ? 'B' : 'A') + token.substring(signature + 1);
+
+        assertThat(accessTokens.verify(flipped)).isNull();
+        assertThat(accessTokens.verify(token.substring(0, signature))).isNull();
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        byte[] other = "fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.US_ASCII);
+        String token = new AccessTokens(other, TTL, Clock.fixed(NOW, ZoneOffset.UTC)).issue(42L).token();
+
+        assertThat(accessTokens.verify(token)).isNull();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = accessTokens.issue(42L).token();
+
+        assertThat(at(NOW.plus(TTL).minusSeconds(1)).verify(token)).isEqualTo(42L);
+        assertThat(at(NOW.plus(TTL)).verify(token)).isNull();
+        assertThat(at(NOW.plus(TTL).plusSeconds(1)).verify(token)).isNull();
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        assertThat(accessTokens.verify("")).isNull();
+        assertThat(accessTokens.verify("42")).isNull();
+        assertThat(accessTokens.verify("42.1")).isNull();
+        assertThat(accessTokens.verify(".1.abc")).isNull();
+        assertThat(accessTokens.verify("42.1.%%%")).isNull();
+    }
+
+    private static AccessTokens at(Instant now) {
+        return new AccessTokens(SECRET, TTL, Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.miniproject04.controller;
+
+import com.example.miniproject04.Entity.User;
+import com.example.miniproject04.repository.UserRepository;
+import com.example.miniproject04.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 조회 API 조건부 요청 테스트 (ETag → If-None-Match → 304)
+ * 변경이 없으면 본문 없이 304, 책이 바뀌면 이전 ETag 로 다시 200
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bookcontroller;DB_CLOSE_DELAY=-1",
+        "image.store.type=memory",
+        "search.index-dir=",
+        "book.list-cache.pages=0",
+        "image.gc.enabled=false"
+})
+@AutoConfigureMockMvc
+class BookControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long ownerId;
+    private Long bookId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userRepository.save(new User(null, "etag" + System.nanoTime(), "pw")).getUserId();
+        bookId = bookService.createBook(ownerId, "title", "description").getBookId();
+    }
+
+    @Test
+    void listRevalidatesUntilBooksChange() throws Exception {
+        String etag = etagOf("/api/v1/books/list");
+
+        mockMvc.perform(get("/api/v1/books/list").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        bookService.createBook(ownerId, "new", "description");
+
+        String changed = mockMvc.perform(get("/api/v1/books/list").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void pagedListSharesTheListVersion() throws Exception {
+        String etag = etagOf("/api/v1/books/list?limit=1");
+
+        mockMvc.perform(get("/api/v1/books/list").param("limit", "1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void fullRevalidatesUntilBookChanges() throws Exception {
+        String url = "/api/v1/books/" + bookId + "/full";
+        String etag = etagOf(url);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        bookService.updateBook(bookId, ownerId, 0L, "changed", "description");
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void checkRevalidatesWithPost() throws Exception {
+        String body = "{\"book_id\":" + bookId + "}";
+        String etag = mockMvc.perform(post("/api/v1/books/check").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/");
+
+        mockMvc.perform(post("/api/v1/books/check").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    private String etagOf(String url) throws Exception {
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                // 단계 시간은 기본 설정에서 응답에 노출하지 않음
+                .andExpect(header().doesNotExist("Server-Timing"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/");
+        return etag;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.miniproject04.search;
+
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 정상 종료 기록 테스트 (commit user data)
+ * close 없이 끝난 세션 다음에는 closedCleanly() == false → 기동 시 재색인
+ */
+class BookSearchIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @TempDir
+    Path crashed;
+
+    @Test
+    void newIndexCountsAsClean() throws IOException {
+        try (BookSearchIndex index = open()) {
+            assertThat(index.closedCleanly()).isTrue();
+        }
+    }
+
+    @Test
+    void closedIndexIsCleanOnReopen() throws IOException {
+        try (BookSearchIndex index = open()) {
+            index.index(1L, "제목", "내용");
+        }
+
+        try (BookSearchIndex index = open()) {
+            assertThat(index.closedCleanly()).isTrue();
+            assertThat(index.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void sessionEndedWithoutCloseIsNotClean() throws IOException {
+        try (BookSearchIndex index = open()) {
+            index.index(1L, "제목", "내용");
+        }
+
+        // 세션 도중 디스크에 남은 파일 그대로 = 비정상 종료 직후 상태 (commit 전 수정은 없음)
+        try (BookSearchIndex index = open(dir)) {
+            index.index(1L, "바뀐 제목", "내용");
+            copy(dir, crashed);
+        }
+
+        try (BookSearchIndex index = open(crashed)) {
+            assertThat(index.closedCleanly()).isFalse();
+            assertThat(index.search("바뀐", 0, 10)).isEmpty();
+        }
+    }
+
+    @Test
+    void inconsistentIndexIsNotCleanOnReopen() throws IOException {
+        try (BookSearchIndex index = open()) {
+            index.setConsistent(false);
+        }
+
+        try (BookSearchIndex index = open()) {
+            assertThat(index.closedCleanly()).isFalse();
+        }
+
+        // 이번 세션이 정상 종료되면 다시 clean
+        try (BookSearchIndex index = open()) {
+            assertThat(index.closedCleanly()).isTrue();
+        }
+    }
+
+    private BookSearchIndex open() throws IOException {
+        return open(dir);
+    }
+
+    private static BookSearchIndex open(Path path) throws IOException {
+        return new BookSearchIndex(FSDirectory.open(path), 60_000, 600_000);
+    }
+
+    private static void copy(Path from, Path to) throws IOException {
+        List<Path> files;
+        try (var list = Files.list(from)) {
+            files = list.filter(p -> !p.getFileName().toString().equals("write.lock")).toList();
+        }
+        for (Path file : files) {
+            Files.copy(file, to.resolve(file.getFileName()));
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.dto.BookDto;
+import com.example.miniproject04.exception.ErrorCode;
+import com.example.miniproject04.importer.BookImportReader;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 일괄 등록 본문 파서 테스트 (NDJSON / CSV)
+ * 따옴표 규칙, 줄바꿈 형식, BOM, 잘못된 행의 줄 번호, 최대 길이
+ */
+class BookImportReaderTest {
+
+    private static final ObjectReader ROW_READER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .readerFor(BookDto.CreateRequest.class);
+
+    /* ===================== CSV ===================== */
+
+    @Test
+    void csvQuotedFieldsKeepCommasQuotesAndNewlines() throws IOException {
+        List<BookImportReader.Row> rows = csv("title,description\n"
+                + "\"a, b\",\"그가 \"\"안녕\"\" 이라고\"\n"
+                + "\"여러\n줄\",\"x\"\n");
+
+        assertThat(rows).extracting(r -> r.request().title(), r -> r.request().description())
+                .containsExactly(
+                        tuple("a, b", "그가 \"안녕\" 이라고"),
+                        tuple("여러\n줄", "x"));
+    }
+
+    @Test
+    void csvLineNumbersCountNewlinesInsideQuotes() throws IOException {
+        List<BookImportReader.Row> rows = csv("title,description\n"
+                + "\"1\n2\n3\",d\n"
+                + "t,d\n");
+
+        assertThat(rows).extracting(BookImportReader.Row::line).containsExactly(2L, 5L);
+    }
+
+    @Test
+    void csvCrlfLineEndings() throws IOException {
+        List<BookImportReader.Row> rows = csv("title,description\r\na,b\r\nc,d\r\n");
+
+        assertThat(rows).extracting(BookImportReader.Row::line, r -> r.request().title(), r -> r.request().description())
+                .containsExactly(tuple(2L, "a", "b"), tuple(3L, "c", "d"));
+    }
+
+    @Test
+    void csvUtf8BomBeforeHeader() throws IOException {
+        List<BookImportReader.Row> rows = csv("\uFEFFtitle,description\n제목,내용\n");
+
+        assertThat(rows).extracting(r -> r.request().title()).containsExactly("제목");
+    }
+
+    @Test
+    void csvHeaderColumnsInAnyOrderAndExtraColumnsIgnored() throws IOException {
+        List<BookImportReader.Row> rows = csv("book_id,Description,title\n7,내용,제목\n");
+
+        assertThat(rows).extracting(r -> r.request().title(), r -> r.request().description())
+                .containsExactly(tuple("제목", "내용"));
+    }
+
+    @Test
+    void csvMissingHeaderIsRejected() {
+        assertThatThrownBy(() -> BookImportReader.csv(stream("a,b\n1,2\n")))
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_IMPORT_HEADER);
+        assertThatThrownBy(() -> BookImportReader.csv(stream("")))
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_IMPORT_HEADER);
+    }
+
+    @Test
+    void csvBlankLinesAreSkippedAndMalformedLinesReportedAtTheirLine() throws IOException {
+        List<BookImportReader.Row> rows = csv("title,description\n"
+                + "a,b\n"
+                + "\n"
+                + "   \n"
+                + "only-one-column\n"
+                + "c,d\n"
+                + "\"unclosed,d\n");
+
+        assertThat(rows).extracting(BookImportReader.Row::line, BookImportReader.Row::error)
+                .containsExactly(
+                        tuple(2L, null),
+                        tuple(5L, "열 개수가 헤더와 다릅니다."),
+                        tuple(6L, null),
+                        tuple(7L, "따옴표가 닫히지 않았습니다."));
+    }
+
+    @Test
+    void csvLastLineWithoutNewline() throws IOException {
+        List<BookImportReader.Row> rows = csv("title,description\na,b");
+
+        assertThat(rows).extracting(BookImportReader.Row::line, r -> r.request().title())
+                .containsExactly(tuple(2L, "a"));
+    }
+
+    @Test
+    void csvOverLongRecordIsReportedAndReadingContinues() throws IOException {
+        String longValue = "x".repeat(BookImportReader.MAX_RECORD_LENGTH + 1);
+        List<BookImportReader.Row> rows = csv("title,description\n"
+                + "t," + longValue + "\n"
+                + "\"" + longValue + "\n" + longValue + "\",d\n"
+                + "a,b\n");
+
+        assertThat(rows).extracting(BookImportReader.Row::line, BookImportReader.Row::error)
+                .containsExactly(
+                        tuple(2L, "행이 너무 깁니다. (최대 " + BookImportReader.MAX_RECORD_LENGTH + "자)"),
+                        tuple(3L, "행이 너무 깁니다. (최대 " + BookImportReader.MAX_RECORD_LENGTH + "자)"),
+                        tuple(5L, null));
+    }
+
+    /* ===================== NDJSON ===================== */
+
+    @Test
+    void ndjsonCrlfAndBlankLines() throws IOException {
+        List<BookImportReader.Row> rows = ndjson("{\"title\":\"a\",\"description\":\"b\"}\r\n"
+                + "\r\n"
+                + "{\"title\":\"c\",\"description\":\"d\"}\r\n");
+
+        assertThat(rows).extracting(BookImportReader.Row::line, r -> r.request().title())
+                .containsExactly(tuple(1L, "a"), tuple(3L, "c"));
+    }
+
+    @Test
+    void ndjsonUtf8BomBeforeFirstLine() throws IOException {
+        List<BookImportReader.Row> rows = ndjson("\uFEFF{\"title\":\"a\",\"description\":\"b\"}\n");
+
+        assertThat(rows).extracting(BookImportReader.Row::error, r -> r.request().title())
+                .containsExactly(tuple(null, "a"));
+    }
+
+    @Test
+    void ndjsonEscapedNewlinesAndCommasStayInValue() throws IOException {
+        List<BookImportReader.Row> rows = ndjson("{\"title\":\"a, \\\"b\\\"\",\"description\":\"1\\n2\"}\n");
+
+        assertThat(rows).extracting(r -> r.request().title(), r -> r.request().description())
+                .containsExactly(tuple("a, \"b\"", "1\n2"));
+    }
+
+    @Test
+    void ndjsonMalformedLinesReportedAtTheirLine() throws IOException {
+        List<BookImportReader.Row> rows = ndjson("{\"title\":\"a\",\"description\":\"b\"}\n"
+                + "{\"title\":\n"
+                + "null\n"
+                + "\n"
+                + "[1,2]\n"
+                + "{\"title\":\"c\",\"description\":\"d\"}");
+
+        assertThat(rows).extracting(BookImportReader.Row::line, BookImportReader.Row::error)
+                .containsExactly(
+                        tuple(1L, null),
+                        tuple(2L, "JSON 형식이 올바르지 않습니다."),
+                        tuple(3L, "JSON 형식이 올바르지 않습니다."),
+                        tuple(5L, "JSON 형식이 올바르지 않습니다."),
+                        tuple(6L, null));
+    }
+
+    @Test
+    void ndjsonOverLongLineIsReportedAndReadingContinues() throws IOException {
+        String longValue = "x".repeat(BookImportReader.MAX_RECORD_LENGTH);
+        List<BookImportReader.Row> rows = ndjson("{\"title\":\"" + longValue + "\"}\n"
+                + "{\"title\":\"a\",\"description\":\"b\"}\n");
+
+        assertThat(rows).extracting(BookImportReader.Row::line, BookImportReader.Row::error)
+                .containsExactly(
+                        tuple(1L, "행이 너무 깁니다. (최대 " + BookImportReader.MAX_RECORD_LENGTH + "자)"),
+                        tuple(2L, null));
+    }
+
+    private static List<BookImportReader.Row> csv(String body) throws IOException {
+        return readAll(BookImportReader.csv(stream(body)));
+    }
+
+    private static List<BookImportReader.Row> ndjson(String body) throws IOException {
+        return readAll(BookImportReader.ndjson(stream(body), ROW_READER));
+    }
+
+    private static List<BookImportReader.Row> readAll(BookImportReader reader) throws IOException {
+        List<BookImportReader.Row> rows = new ArrayList<>();
+        BookImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
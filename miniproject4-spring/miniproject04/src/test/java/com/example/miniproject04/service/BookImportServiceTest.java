@@ -0,0 +1,94 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.Entity.User;
+import com.example.miniproject04.dto.BookDto;
+import com.example.miniproject04.exception.ErrorCode;
+import com.example.miniproject04.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 일괄 등록 작성자 회귀 테스트
+ * 행의 user_id 로 다른 사용자 명의의 책을 만들 수 없어야 함
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bookimport;DB_CLOSE_DELAY=-1",
+        "image.store.type=memory",
+        "search.index-dir=",
+        "book.list-cache.pages=0",
+        "image.gc.enabled=false"
+})
+class BookImportServiceTest {
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long callerId;
+    private Long otherId;
+    private String tag;
+
+    @BeforeEach
+    void setUp() {
+        tag = "t" + System.nanoTime();
+        callerId = userRepository.save(new User(null, "caller" + tag, "pw")).getUserId();
+        otherId = userRepository.save(new User(null, "other" + tag, "pw")).getUserId();
+    }
+
+    @Test
+    void ndjsonRowsAreOwnedByCallerWhateverUserIdTheyCarry() throws Exception {
+        String body = "{\"user_id\":" + otherId + ",\"title\":\"" + tag + "\",\"description\":\"d\"}\n"
+                + "{\"title\":\"" + tag + "\",\"description\":\"d\"}\n";
+
+        BookDto.ImportResult result = bookImportService.importBooks(
+                stream(body), BookImportService.Format.NDJSON, callerId);
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(owners()).containsOnly(callerId);
+    }
+
+    @Test
+    void csvUserIdColumnIsIgnored() throws Exception {
+        String body = "user_id,title,description\n" + otherId + "," + tag + ",d\n";
+
+        BookDto.ImportResult result = bookImportService.importBooks(
+                stream(body), BookImportService.Format.CSV, callerId);
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(owners()).containsOnly(callerId);
+    }
+
+    @Test
+    void importForMissingUserFails() {
+        String body = "{\"title\":\"" + tag + "\",\"description\":\"d\"}\n";
+
+        assertThatThrownBy(() -> bookImportService.importBooks(
+                stream(body), BookImportService.Format.NDJSON, -1L))
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.USER_NOT_FOUND);
+        assertThat(owners()).isEmpty();
+    }
+
+    private List<Long> owners() {
+        return jdbcTemplate.queryForList("select user_id from book where title = ?", Long.class, tag);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.Entity.User;
+import com.example.miniproject04.dto.BookDto;
+import com.example.miniproject04.repository.UserRepository;
+import com.example.miniproject04.search.BookSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 검색 재색인 테스트
+ * 기존 색인을 비우지 않고 DB 기준으로 맞춤 (없는 책 문서 제거, 있는 책은 최신 내용으로 교체)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booksearch;DB_CLOSE_DELAY=-1",
+        "image.store.type=memory",
+        "search.index-dir=",
+        "book.list-cache.pages=0",
+        "image.gc.enabled=false"
+})
+class BookSearchServiceTest {
+
+    @Autowired
+    private BookSearchService bookSearchService;
+
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userRepository.save(new User(null, "search" + System.nanoTime(), "pw")).getUserId();
+    }
+
+    @Test
+    void rebuildRemovesDocumentsOfMissingBooks() throws IOException {
+        Long bookId = bookService.createBook(ownerId, "재색인유지", "내용").getBookId();
+        bookSearchIndex.index(Long.MAX_VALUE, "재색인유령", "내용");
+        bookSearchIndex.refresh();
+        assertThat(ids("재색인유령")).containsExactly(Long.MAX_VALUE);
+
+        bookSearchService.rebuild();
+
+        assertThat(ids("재색인유령")).isEmpty();
+        assertThat(ids("재색인유지")).containsExactly(bookId);
+    }
+
+    @Test
+    void rebuildReplacesOutdatedDocuments() throws IOException {
+        Long bookId = bookService.createBook(ownerId, "재색인최신", "내용").getBookId();
+        bookSearchIndex.index(bookId, "재색인예전", "내용");
+        bookSearchIndex.refresh();
+
+        bookSearchService.rebuild();
+
+        assertThat(ids("재색인예전")).isEmpty();
+        assertThat(ids("재색인최신")).containsExactly(bookId);
+    }
+
+    private List<Long> ids(String query) throws IOException {
+        return bookSearchIndex.search(query, 0, 10).stream().map(BookDto.Summary::bookId).toList();
+    }
+}
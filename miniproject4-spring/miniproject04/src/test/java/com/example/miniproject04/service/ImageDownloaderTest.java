@@ -0,0 +1,67 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.storage.InMemoryImageStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * tempUrl 주소 검사 테스트
+ * http/https 가 아닌 주소, 내부 주소로 풀리는 호스트는 연결 전에 실패해야 함
+ */
+class ImageDownloaderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ImageDownloader imageDownloader = new ImageDownloader(
+            new InMemoryImageStore(), meterRegistry,
+            Duration.ofSeconds(1), Duration.ofSeconds(1), DataSize.ofKilobytes(1));
+
+    @Test
+    void nonHttpSchemesAreRejected() {
+        assertThatThrownBy(() -> imageDownloader.download("file:///etc/passwd"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("http/https");
+        assertThatThrownBy(() -> imageDownloader.download("jar:file:/app.jar!/application.yaml"))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> imageDownloader.download("ftp://example.com/a.png"))
+                .isInstanceOf(IOException.class);
+
+        assertThat(meterRegistry.counter("image.download.failures").count()).isEqualTo(3);
+    }
+
+    @Test
+    void malformedAndRelativeUrlsAreRejected() {
+        assertThatThrownBy(() -> imageDownloader.download("http://exa mple.com/a.png"))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> imageDownloader.download("/images/a.png"))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> imageDownloader.download("http:/a.png"))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void internalHostsAreRejected() {
+        for (String url : new String[]{
+                "http://127.0.0.1:8081/actuator/prometheus",
+                "http://localhost/a.png",
+                "http://0.0.0.0/a.png",
+                "http://10.0.0.1/a.png",
+                "http://192.168.0.1/a.png",
+                "http://169.254.169.254/latest/meta-data/",
+                "http://[::1]/a.png",
+                "http://[fd00::1]/a.png",
+                "http://[::ffff:127.0.0.1]/a.png"}) {
+            assertThatThrownBy(() -> imageDownloader.download(url))
+                    .as(url)
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("내부 주소");
+        }
+    }
+}
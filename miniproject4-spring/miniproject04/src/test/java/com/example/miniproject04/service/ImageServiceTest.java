@@ -0,0 +1,90 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.Entity.ImageStatus;
+import com.example.miniproject04.Entity.User;
+import com.example.miniproject04.repository.UserRepository;
+import com.example.miniproject04.storage.ImageStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이미지 다운로드 작업 반영 테스트 (작업 세대)
+ * 표지를 연달아 바꿨을 때 늦게 끝난 이전 작업이 새 결과를 덮어쓰지 않아야 함
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:imageservice;DB_CLOSE_DELAY=-1",
+        "image.store.type=memory",
+        "search.index-dir=",
+        "book.list-cache.pages=0",
+        "image.gc.enabled=false"
+})
+class ImageServiceTest {
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long ownerId;
+    private Long bookId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userRepository.save(new User(null, "image" + System.nanoTime(), "pw")).getUserId();
+        bookId = bookService.createBook(ownerId, "title", "description").getBookId();
+    }
+
+    @Test
+    void olderJobFinishingLastDoesNotOverwriteNewerImage() throws IOException {
+        ImageService.Job first = imageService.createImage(bookId);
+        ImageService.Job second = imageService.updateImage(bookId, ownerId);
+
+        ImageStore.Stored newer = store("newer");
+        assertThat(imageService.completeImage(second, newer)).isTrue();
+        assertThat(imageService.completeImage(first, store("older"))).isFalse();
+
+        assertThat(imageService.getImageUrl(bookId)).isEqualTo("/images/" + newer.key());
+        assertThat(imageService.getJob(first.jobId()).getStatus()).isEqualTo(ImageStatus.READY);
+    }
+
+    @Test
+    void lateFailureDoesNotFlipReadyImage() throws IOException {
+        ImageService.Job first = imageService.createImage(bookId);
+        ImageService.Job second = imageService.updateImage(bookId, ownerId);
+        imageService.completeImage(second, store("ready"));
+
+        imageService.failImage(first);
+        imageService.failImage(second);
+
+        assertThat(imageService.getJob(second.jobId()).getStatus()).isEqualTo(ImageStatus.READY);
+    }
+
+    @Test
+    void failureOfCurrentJobIsRecorded() {
+        ImageService.Job job = imageService.createImage(bookId);
+
+        imageService.failImage(job);
+
+        assertThat(imageService.getJob(job.jobId()).getStatus()).isEqualTo(ImageStatus.FAILED);
+    }
+
+    private ImageStore.Stored store(String content) throws IOException {
+        return imageStore.putContent(
+                new ByteArrayInputStream((content + bookId).getBytes(StandardCharsets.UTF_8)), ".png");
+    }
+}
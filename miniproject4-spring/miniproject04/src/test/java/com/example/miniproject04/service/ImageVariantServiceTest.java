@@ -0,0 +1,222 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.exception.ErrorCode;
+import com.example.miniproject04.storage.InMemoryImageStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 변형본 렌더링 / 디스크 LRU 캐시 테스트
+ * 동시 요청 합치기, 캐시에서 밀려난 변형본 전송, 원본 삭제, 픽셀 수 제한, 동시 렌더링 수 제한
+ */
+class ImageVariantServiceTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private final GatedImageStore imageStore = new GatedImageStore();
+    private final List<ImageVariantService.Variant> opened = new ArrayList<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        imageStore.gate.countDown();
+        executor.shutdownNow();
+        opened.forEach(ImageVariantService.Variant::close);
+    }
+
+    @Test
+    void variantIsResizedAndServedFromCache() throws IOException {
+        ImageVariantService service = service(DataSize.ofMegabytes(1), 1_000_000, 2, Duration.ofSeconds(1));
+        put("cover.png", 800, 400);
+
+        BufferedImage first = decode(variant(service, "cover.png", 320, "png"));
+        variant(service, "cover.png", 320, "png");
+
+        assertThat(first.getWidth()).isEqualTo(320);
+        assertThat(first.getHeight()).isEqualTo(160);
+        assertThat(imageStore.reads).hasValue(1);
+    }
+
+    @Test
+    void smallOriginalIsNotEnlarged() throws IOException {
+        ImageVariantService service = service(DataSize.ofMegabytes(1), 1_000_000, 2, Duration.ofSeconds(1));
+        put("small.png", 100, 50);
+
+        BufferedImage image = decode(variant(service, "small.png", 640, "jpeg"));
+
+        assertThat(image.getWidth()).isEqualTo(100);
+        assertThat(image.getHeight()).isEqualTo(50);
+    }
+
+    @Test
+    void concurrentRequestsForTheSameVariantRenderOnce() throws Exception {
+        ImageVariantService service = service(DataSize.ofMegabytes(1), 1_000_000, 2, Duration.ofSeconds(1));
+        put("cover.png", 800, 400);
+        imageStore.closeGate();
+
+        List<Future<ImageVariantService.Variant>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(executor.submit(() -> service.getVariant("cover.png", 320, "png").orElseThrow()));
+        }
+
+        // 한 요청은 원본을 읽는 중, 나머지는 렌더링 결과를 기다리는 중
+        assertThat(imageStore.reading.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(200);
+        imageStore.gate.countDown();
+
+        for (Future<ImageVariantService.Variant> result : results) {
+            ImageVariantService.Variant variant = result.get(5, TimeUnit.SECONDS);
+            opened.add(variant);
+            assertThat(decode(variant).getWidth()).isEqualTo(320);
+        }
+        assertThat(imageStore.reads).hasValue(1);
+    }
+
+    @Test
+    void evictedVariantStaysReadableUntilClosed() throws IOException {
+        // 변형본 하나도 다 담지 못하는 크기 → 새 변형본이 들어올 때마다 이전 것이 밀려남
+        ImageVariantService service = service(DataSize.ofBytes(1), 1_000_000, 2, Duration.ofSeconds(1));
+        put("cover.png", 800, 400);
+
+        ImageVariantService.Variant small = variant(service, "cover.png", 160, "png");
+        variant(service, "cover.png", 320, "png");
+
+        assertThat(Files.exists(cacheDir.resolve("160_cover.png"))).isFalse();
+        assertThat(decode(small).getWidth()).isEqualTo(160);
+
+        // 다시 요청하면 새로 렌더링
+        assertThat(decode(variant(service, "cover.png", 160, "png")).getWidth()).isEqualTo(160);
+        assertThat(imageStore.reads).hasValue(3);
+    }
+
+    @Test
+    void variantOfDeletedOriginalIsNotServed() throws IOException {
+        ImageVariantService service = service(DataSize.ofMegabytes(1), 1_000_000, 2, Duration.ofSeconds(1));
+        put("cover.png", 800, 400);
+        variant(service, "cover.png", 320, "png");
+
+        imageStore.delete("cover.png");
+
+        assertThat(service.getVariant("cover.png", 320, "png")).isEmpty();
+        assertThat(Files.exists(cacheDir.resolve("320_cover.png"))).isFalse();
+    }
+
+    @Test
+    void oversizedOriginalIsRejectedBeforeDecoding() throws IOException {
+        ImageVariantService service = service(DataSize.ofMegabytes(1), 100 * 100, 2, Duration.ofSeconds(1));
+        put("huge.png", 200, 200);
+
+        assertThatThrownBy(() -> service.getVariant("huge.png", 160, "png"))
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.IMAGE_TOO_LARGE);
+        assertThat(Files.exists(cacheDir.resolve("160_huge.png"))).isFalse();
+    }
+
+    @Test
+    void rendersBeyondTheLimitAreRejected() throws Exception {
+        ImageVariantService service = service(DataSize.ofMegabytes(1), 1_000_000, 1, Duration.ZERO);
+        put("a.png", 400, 200);
+        put("b.png", 400, 200);
+        imageStore.closeGate();
+
+        Future<Optional<ImageVariantService.Variant>> first = executor.submit(() -> service.getVariant("a.png", 160, "png"));
+        assertThat(imageStore.reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> service.getVariant("b.png", 160, "png"))
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.IMAGE_BUSY);
+
+        imageStore.gate.countDown();
+        first.get(5, TimeUnit.SECONDS).ifPresent(opened::add);
+        assertThat(decode(variant(service, "b.png", 160, "png")).getWidth()).isEqualTo(160);
+    }
+
+    private ImageVariantService service(DataSize maxCacheSize, long maxPixels, int maxRenders, Duration renderWait)
+            throws IOException {
+        return new ImageVariantService(imageStore, cacheDir.toString(), maxCacheSize, maxPixels, maxRenders, renderWait);
+    }
+
+    private ImageVariantService.Variant variant(ImageVariantService service, String key, int width, String format)
+            throws IOException {
+        ImageVariantService.Variant variant = service.getVariant(key, width, format).orElseThrow();
+        opened.add(variant);
+        return variant;
+    }
+
+    private void put(String key, int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        imageStore.put(key, new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static BufferedImage decode(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return ImageIO.read(in);
+        }
+    }
+
+    /**
+     * 원본 읽기 횟수를 세고, 게이트가 닫혀 있으면 원본을 읽는 도중 멈추는 저장소
+     */
+    private static final class GatedImageStore extends InMemoryImageStore {
+
+        final AtomicInteger reads = new AtomicInteger();
+        final CountDownLatch reading = new CountDownLatch(1);
+        volatile CountDownLatch gate = new CountDownLatch(0);
+
+        void closeGate() {
+            gate = new CountDownLatch(1);
+        }
+
+        @Override
+        public Optional<Resource> get(String key) {
+            return super.get(key).map(source -> new AbstractResource() {
+                @Override
+                public String getDescription() {
+                    return source.getDescription();
+                }
+
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    reads.incrementAndGet();
+                    reading.countDown();
+                    try {
+                        if (!gate.await(5, TimeUnit.SECONDS)) {
+                            throw new IOException("gate timeout");
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                    return source.getInputStream();
+                }
+            });
+        }
+    }
+}
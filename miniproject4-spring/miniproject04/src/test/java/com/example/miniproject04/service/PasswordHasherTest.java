@@ -0,0 +1,80 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.config.PasswordHashConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 비밀번호 해시 검증 / 재해시 판단 테스트
+ * 반복 횟수는 테스트 시간을 줄이려고 낮춤 (저장 형식에 함께 기록되므로 검증에는 영향 없음)
+ */
+class PasswordHasherTest {
+
+    private final ThreadPoolTaskExecutor executor = new PasswordHashConfig().passwordHashExecutor(1, 10);
+
+    private final PasswordHasher passwordHasher = new PasswordHasher(executor, 1000);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void hashMatchesOnlyTheSamePassword() {
+        String stored = passwordHasher.hash("1234");
+
+        assertThat(stored).startsWith("pbkdf2-sha512$1000$").doesNotContain("1234");
+        assertThat(passwordHasher.matches("1234", stored)).isTrue();
+        assertThat(passwordHasher.matches("12345", stored)).isFalse();
+        assertThat(passwordHasher.matches("", stored)).isFalse();
+    }
+
+    @Test
+    void samePasswordGetsDifferentSalt() {
+        String first = passwordHasher.hash("1234");
+        String second = passwordHasher.hash("1234");
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(passwordHasher.matches("1234", second)).isTrue();
+    }
+
+    @Test
+    void tamperedHashDoesNotMatch() {
+        String stored = passwordHasher.hash("1234");
+        String[] parts = stored.split("\\$");
+
+        assertThat(passwordHasher.matches("1234", parts[0] + "$" + parts[1] + "$" + parts[2])).isFalse();
+        assertThat(passwordHasher.matches("1234", parts[0] + "$2000$" + parts[2] + "$" + parts[3])).isFalse();
+    }
+
+    @Test
+    void raisingIterationsRequiresRehashButKeepsOldHashesValid() {
+        String weak = passwordHasher.hash("1234");
+        PasswordHasher stronger = new PasswordHasher(executor, 2000);
+
+        assertThat(passwordHasher.needsRehash(weak)).isFalse();
+        assertThat(stronger.needsRehash(weak)).isTrue();
+        assertThat(stronger.matches("1234", weak)).isTrue();
+
+        String rehashed = stronger.hash("1234");
+        assertThat(rehashed).startsWith("pbkdf2-sha512$2000$");
+        assertThat(stronger.needsRehash(rehashed)).isFalse();
+    }
+
+    @Test
+    void legacyPlaintextIsVerifiedAndNeedsRehash() {
+        assertThat(passwordHasher.matches("1234", "1234")).isTrue();
+        assertThat(passwordHasher.matches("1235", "1234")).isFalse();
+        assertThat(passwordHasher.matches("", "1234")).isFalse();
+        assertThat(passwordHasher.needsRehash("1234")).isTrue();
+    }
+
+    @Test
+    void unknownUserNeverMatches() {
+        assertThat(passwordHasher.matchesNothing("")).isFalse();
+        assertThat(passwordHasher.matchesNothing("1234")).isFalse();
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.Entity.Book;
+import com.example.miniproject04.Entity.User;
+import com.example.miniproject04.exception.ErrorCode;
+import com.example.miniproject04.repository.UserRepository;
+import com.example.miniproject04.storage.ImageStore;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 서비스 메서드별 SQL 실행 수 회귀 테스트 (Hibernate Statistics)
+ * N+1 / EAGER 조인이 다시 생기면 실패
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "image.store.type=memory",
+        "search.index-dir=",
+        // 커밋 후 백그라운드 쿼리(목록 캐시 재구성, 파일 삭제 참조 확인, 고아 정리)가 집계에 섞이지 않도록
+        "book.list-cache.pages=0",
+        "image.delete.batch-delay=1h",
+        "image.gc.enabled=false"
+})
+class ServiceQueryCountTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long ownerId;
+    private Long bookId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // 작성자가 다른 책 여러 권 (목록 조회 시 users N+1 확인용)
+        User owner = userRepository.save(new User(null, "owner" + System.nanoTime(), "pw"));
+        User other = userRepository.save(new User(null, "other" + System.nanoTime(), "pw"));
+        ownerId = owner.getUserId();
+
+        bookService.createBook(other.getUserId(), "other title", "other description");
+        Book book = bookService.createBook(ownerId, "title", "description");
+        bookId = book.getBookId();
+
+        ImageService.Job job = imageService.createImage(bookId);
+        ImageStore.Stored stored = imageStore.putContent(
+                new ByteArrayInputStream(("image" + bookId).getBytes(StandardCharsets.UTF_8)), ".png");
+        imageService.completeImage(job, stored);
+
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        statistics.clear();
+    }
+
+    @Test
+    void createBookDoesNotLoadUser() {
+        bookService.createBook(ownerId, "new title", "new description");
+
+        // insert book (+ 시퀀스 블록이 끝났으면 next value 1번), users 조회 없음
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void createBookForMissingUserFails() {
+        assertThatThrownBy(() -> bookService.createBook(-1L, "title", "description"))
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.USER_NOT_FOUND);
+    }
+
+    @Test
+    void findBooksDoesNotLoadUsers() {
+        bookService.findBooks();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findBookPageIsOneProjectionQuery() {
+        bookService.findBookPage(null, 10);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void getBookDetailHitsDatabaseOnceThenCache() {
+        bookService.getBookDetail(bookId);
+        bookService.getBookDetail(bookId);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findBookFullIsOneQuery() {
+        bookService.findBookFull(bookId);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getImageUrlLooksUpByBookId() {
+        imageService.getImageUrl(bookId);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateBookIsOneConditionalUpdate() {
+        bookService.updateBook(bookId, ownerId, null, "new title", "new description");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void partialUpdateRereadsForSearchIndex() {
+        bookService.updateBook(bookId, ownerId, null, "new title", null);
+
+        // update book + select book (색인용)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(bookService.findBookFull(bookId).description()).isEqualTo("description");
+    }
+
+    @Test
+    void updateBookWithStaleVersionConflicts() {
+        Long version = bookService.findBookFull(bookId).version();
+        bookService.updateBook(bookId, ownerId, version, "first", "first");
+
+        assertThatThrownBy(() -> bookService.updateBook(bookId, ownerId, version, "second", "second"))
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.VERSION_CONFLICT);
+        assertThat(bookService.findBookFull(bookId).title()).isEqualTo("first");
+    }
+
+    @Test
+    void updateBookRejectsOtherUserAndMissingBook() {
+        statistics.clear();
+
+        assertThatThrownBy(() -> bookService.updateBook(bookId, ownerId + 1000, null, "x", "x"))
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FORBIDDEN);
+        assertThatThrownBy(() -> bookService.updateBook(-1L, ownerId, null, "x", "x"))
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.BOOK_NOT_FOUND);
+
+        // 각각 update 0건 + 원인 조회 1번
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    void updateImageFetchesBookWithImage() {
+        imageService.updateImage(bookId, ownerId);
+
+        // select image join book (행 잠금) + update image status/generation
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void deleteBookDoesNotLoadBook() {
+        bookService.deleteBook(bookId, ownerId);
+
+        // select image (작성자 조건), blob 참조 감소/정리 2, delete image, delete book
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+    }
+
+    @Test
+    void deleteBookByOtherUserKeepsBookAndImage() {
+        assertThatThrownBy(() -> bookService.deleteBook(bookId, ownerId + 1000))
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.FORBIDDEN);
+
+        assertThat(bookService.findBookFull(bookId).imageUrl()).isNotNull();
+    }
+}
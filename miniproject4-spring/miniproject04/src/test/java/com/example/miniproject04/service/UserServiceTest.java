@@ -0,0 +1,91 @@
+package com.example.miniproject04.service;
+
+import com.example.miniproject04.Entity.User;
+import com.example.miniproject04.exception.ErrorCode;
+import com.example.miniproject04.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 로그인 시 비밀번호 재저장 테스트
+ * 평문(해시 도입 전)이나 낮은 반복 횟수로 저장된 비밀번호는 로그인 성공 후 현재 설정의 해시로 교체
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:userservice;DB_CLOSE_DELAY=-1",
+        "image.store.type=memory",
+        "search.index-dir=",
+        "book.list-cache.pages=0",
+        "image.gc.enabled=false",
+        "auth.password.iterations=2000"
+})
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    @Qualifier("passwordHashExecutor")
+    private ThreadPoolTaskExecutor passwordHashExecutor;
+
+    @Test
+    void legacyPlaintextPasswordIsHashedOnLogin() {
+        String loginId = "legacy" + System.nanoTime();
+        userRepository.save(new User(null, loginId, "1234"));
+
+        userService.login(loginId, "1234");
+
+        String stored = userRepository.findByLoginId(loginId).orElseThrow().getPassword();
+        assertThat(stored).startsWith("pbkdf2-sha512$2000$");
+        assertThat(passwordHasher.matches("1234", stored)).isTrue();
+        assertThat(userService.login(loginId, "1234").getLoginId()).isEqualTo(loginId);
+    }
+
+    @Test
+    void weakerHashIsReplacedOnLogin() {
+        String loginId = "weak" + System.nanoTime();
+        String weak = new PasswordHasher(passwordHashExecutor, 1000).hash("1234");
+        userRepository.save(new User(null, loginId, weak));
+
+        userService.login(loginId, "1234");
+
+        assertThat(userRepository.findByLoginId(loginId).orElseThrow().getPassword())
+                .startsWith("pbkdf2-sha512$2000$");
+    }
+
+    @Test
+    void wrongPasswordFailsAndKeepsStoredPassword() {
+        String loginId = "wrong" + System.nanoTime();
+        userRepository.save(new User(null, loginId, "1234"));
+
+        assertThatThrownBy(() -> userService.login(loginId, "4321"))
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.LOGIN_FAILED);
+        assertThatThrownBy(() -> userService.login("missing" + System.nanoTime(), "1234"))
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.LOGIN_FAILED);
+
+        assertThat(userRepository.findByLoginId(loginId).orElseThrow().getPassword()).isEqualTo("1234");
+    }
+
+    @Test
+    void signupStoresHashNotPlaintext() {
+        String loginId = "signup" + System.nanoTime();
+
+        userService.signup(loginId, "1234");
+
+        assertThat(userRepository.findByLoginId(loginId).orElseThrow().getPassword())
+                .startsWith("pbkdf2-sha512$2000$")
+                .doesNotContain("1234");
+        assertThat(userService.login(loginId, "1234").getLoginId()).isEqualTo(loginId);
+    }
+}
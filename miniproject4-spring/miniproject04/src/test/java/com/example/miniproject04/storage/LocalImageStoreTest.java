@@ -0,0 +1,80 @@
+package com.example.miniproject04.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내용 주소 저장 / 조건부 삭제 테스트
+ * 삭제 정리와 같은 내용 재사용(putContent)이 겹쳐도 재사용된 파일은 남아야 함
+ */
+class LocalImageStoreTest {
+
+    @TempDir
+    Path root;
+
+    private LocalImageStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new LocalImageStore(root.toString());
+    }
+
+    @Test
+    void sameContentIsStoredOnce() throws IOException {
+        ImageStore.Stored first = put("cover");
+        ImageStore.Stored second = put("cover");
+
+        assertThat(first.created()).isTrue();
+        assertThat(second.created()).isFalse();
+        assertThat(second.key()).isEqualTo(first.key());
+        assertThat(store.usage().files()).isEqualTo(1);
+    }
+
+    @Test
+    void oldFileIsDeleted() throws IOException {
+        ImageStore.Stored stored = put("old");
+        age(stored.key(), Duration.ofHours(2));
+
+        assertThat(store.deleteIfOlderThan(stored.key(), Instant.now().minus(Duration.ofHours(1)))).isTrue();
+        assertThat(store.get(stored.key())).isEmpty();
+    }
+
+    @Test
+    void reusedFileIsKept() throws IOException {
+        ImageStore.Stored stored = put("reused");
+        age(stored.key(), Duration.ofHours(2));
+        Instant cutoff = Instant.now().minus(Duration.ofHours(1));
+
+        // 참조 확인 이후 같은 내용을 다시 내려받음 → 수정 시각 갱신
+        assertThat(put("reused").created()).isFalse();
+
+        assertThat(store.deleteIfOlderThan(stored.key(), cutoff)).isFalse();
+        assertThat(store.get(stored.key())).isPresent();
+        assertThat(store.usage().files()).isEqualTo(1);
+    }
+
+    @Test
+    void missingFileIsNotDeleted() throws IOException {
+        assertThat(store.deleteIfOlderThan("missing.png", Instant.now())).isFalse();
+    }
+
+    private ImageStore.Stored put(String content) throws IOException {
+        return store.putContent(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), ".png");
+    }
+
+    private void age(String key, Duration age) throws IOException {
+        Files.setLastModifiedTime(store.shardPath(key), FileTime.from(Instant.now().minus(age)));
+    }
+}